@@ -0,0 +1,176 @@
+package graph;
+
+import java.util.Objects;
+
+/**
+ * {@link SCCFinder} that picks an implementation per graph from cheap statistics.
+ *
+ * <p>Graphs large enough to matter get one O(V + E) trimming pass, which yields the
+ * share of trivial components: vertices removed by repeatedly deleting vertices
+ * with no remaining in-edges or no remaining out-edges. The rules, in order:
+ * <ol>
+ *   <li>undirected graphs: {@link UndirectedComponents}, a parallel union-find
+ *       that needs no DFS;</li>
+ *   <li>small graphs ({@code n < }{@link #PARALLEL_MIN_VERTICES}) or a single core:
+ *       {@link TarjanSCC}, which has the lowest constant factor;</li>
+ *   <li>mostly trivial vertices ({@code >= }{@link #TRIVIAL_RATIO_FOR_PARALLEL}) with
+ *       at least {@link #PARALLEL_MIN_CORES} cores: {@link ParallelSCC}, since trimming
+ *       and FW-BW split the work into independent tasks;</li>
+ *   <li>dense graphs (average out-degree {@code >= }{@link #DENSE_AVERAGE_DEGREE}):
+ *       {@link GabowSCC}, which does one preorder comparison per edge;</li>
+ *   <li>almost no trivial vertices ({@code < }{@link #GIANT_COMPONENT_TRIVIAL_RATIO}),
+ *       which usually means one giant component: {@link KosarajuSCC}, whose second
+ *       pass is a plain sweep of the transposed CSR;</li>
+ *   <li>otherwise {@link TarjanSCC}.</li>
+ * </ol>
+ * The adjacencies and the trimming result are handed to the chosen finder, so
+ * choosing costs the trimming pass only, and {@link ParallelSCC} skips its own
+ * trimming rounds. The thresholds are starting points and should be re-tuned
+ * against real workloads.
+ */
+public class AdaptiveSCCFinder implements SCCFinder {
+    static final int PARALLEL_MIN_VERTICES = 100_000;
+    static final int PARALLEL_MIN_CORES = 4;
+    static final double TRIVIAL_RATIO_FOR_PARALLEL = 0.5;
+    static final double DENSE_AVERAGE_DEGREE = 32.0;
+    static final double GIANT_COMPONENT_TRIVIAL_RATIO = 0.05;
+
+    private final int cores;
+    private final TarjanSCC tarjan = new TarjanSCC();
+    private final KosarajuSCC kosaraju = new KosarajuSCC();
+    private final GabowSCC gabow = new GabowSCC();
+    private final ParallelSCC parallel = new ParallelSCC();
+    private final UndirectedComponents undirected = new UndirectedComponents();
+
+    public AdaptiveSCCFinder() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public AdaptiveSCCFinder(int cores) {
+        if (cores < 1) throw new IllegalArgumentException("Core count must be positive");
+        this.cores = cores;
+    }
+
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics) {
+        return findSCCs(graph, metrics, CancellationToken.NONE);
+    }
+
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(token, "Token cannot be null");
+        Plan plan = plan(graph, token);
+        if (plan.forward == null) return plan.finder.findSCCs(graph, metrics, token);
+        token.throwIfCancelled();
+        if (plan.finder == parallel) return parallel.findSCCs(plan.forward, plan.backward, plan.trivial, metrics, token);
+        if (plan.finder == gabow) return gabow.findSCCs(plan.forward, metrics, token);
+        if (plan.finder == kosaraju) return kosaraju.findSCCs(plan.forward, plan.backward, metrics, token);
+        return tarjan.findSCCs(plan.forward, metrics, token);
+    }
+
+    /**
+     * Chooses the implementation for the given graph without running it.
+     *
+     * @param graph the graph to analyze
+     * @return the finder that {@link #findSCCs(GraphStore, Metrics)} would use
+     */
+    public SCCFinder select(GraphStore graph) {
+        return plan(graph, CancellationToken.NONE).finder;
+    }
+
+    /**
+     * Chooses the finder and keeps the adjacencies and trimming result computed
+     * for the choice, so the finder does not rebuild them.
+     */
+    private Plan plan(GraphStore graph, CancellationToken token) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        if (!graph.isDirected()) return new Plan(undirected);
+        int n = graph.getN();
+        if (n < PARALLEL_MIN_VERTICES || cores == 1) return new Plan(tarjan);
+
+        Plan plan = new Plan(null);
+        token.throwIfCancelled();
+        plan.forward = CsrAdjacency.of(graph);
+        token.throwIfCancelled();
+        plan.backward = plan.forward.reverse();
+        plan.trivial = new boolean[n];
+        double trivialRatio = (double) trim(plan.forward, plan.backward, plan.trivial, token) / n;
+        double averageDegree = (double) graph.getEdgeCount() / n;
+        if (trivialRatio >= TRIVIAL_RATIO_FOR_PARALLEL && cores >= PARALLEL_MIN_CORES) {
+            plan.finder = parallel;
+        } else if (averageDegree >= DENSE_AVERAGE_DEGREE) {
+            plan.finder = gabow;
+        } else if (trivialRatio < GIANT_COMPONENT_TRIVIAL_RATIO) {
+            plan.finder = kosaraju;
+        } else {
+            plan.finder = tarjan;
+        }
+        return plan;
+    }
+
+    /**
+     * Chosen finder plus what was computed to choose it; the adjacencies are
+     * {@code null} when the choice needed no statistics.
+     */
+    private static final class Plan {
+        SCCFinder finder;
+        CsrAdjacency forward;
+        CsrAdjacency backward;
+        boolean[] trivial;
+
+        Plan(SCCFinder finder) {
+            this.finder = finder;
+        }
+    }
+
+    /**
+     * Runs trimming to a fixed point: repeatedly removes vertices with no remaining
+     * in-edges or no remaining out-edges (self-loops ignored). Each removed vertex
+     * is a trivial component and is marked in {@code removed}. The token is
+     * checked once per {@value CancellationToken#CHECK_INTERVAL} vertices.
+     *
+     * @return number of removed vertices
+     */
+    private static int trim(CsrAdjacency forward, CsrAdjacency backward, boolean[] removed, CancellationToken token) {
+        int n = forward.getN();
+        int[] inDegree = new int[n];
+        int[] outDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            if ((u & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+            for (int i = forward.offsets[u]; i < forward.offsets[u + 1]; i++) {
+                int v = forward.targets[i];
+                if (u == v) continue;
+                outDegree[u]++;
+                inDegree[v]++;
+            }
+        }
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                removed[v] = true;
+                queue[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+            int v = queue[head++];
+            for (int i = forward.offsets[v]; i < forward.offsets[v + 1]; i++) {
+                int w = forward.targets[i];
+                if (w != v && !removed[w] && --inDegree[w] == 0) {
+                    removed[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+            for (int i = backward.offsets[v]; i < backward.offsets[v + 1]; i++) {
+                int w = backward.targets[i];
+                if (w != v && !removed[w] && --outDegree[w] == 0) {
+                    removed[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return tail;
+    }
+}
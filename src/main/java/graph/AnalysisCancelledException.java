@@ -0,0 +1,13 @@
+package graph;
+
+/**
+ * Thrown when an analysis stops early because its {@link CancellationToken} was
+ * cancelled or its deadline passed. Partial results are discarded.
+ */
+public class AnalysisCancelledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public AnalysisCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,301 @@
+package graph;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running analysis server on a localhost HTTP port. The JVM stays warm
+ * between requests, and loaded graphs stay in memory with their analyses, so
+ * per-request latency is the computation itself, not JVM startup, class
+ * loading and a cold JIT.
+ *
+ * <p>Endpoints (all responses are JSON):
+ * <pre>
+ * PUT    /graphs/{name}                    body: dataset JSON, or edge lines with ?format=edges
+ * DELETE /graphs/{name}
+ * GET    /graphs                           names of loaded graphs
+ * GET    /graphs/{name}/scc
+ * GET    /graphs/{name}/topo               order of the condensation DAG
+ * GET    /graphs/{name}/critical-path
+ * GET    /graphs/{name}/paths?source=v&amp;kind=shortest|longest
+ * GET    /graphs/{name}/reach?from=a&amp;to=b
+ * </pre>
+ * Requests are served concurrently by a fixed thread pool. Each loaded graph
+ * keeps a {@link GraphAnalysis}, so an endpoint computes only the stages it
+ * needs, once, and shares them with later requests. Deleting or replacing a
+ * graph closes its off-heap edge store once the requests already running on it
+ * have finished.
+ *
+ * <p>Any request may carry {@code ?timeoutMs=N}. Analysis stages that the request
+ * has to compute stop at that deadline and the request fails with 503, which
+ * sheds oversized graphs without holding a worker; a stopped stage is computed
+ * again by the next request that needs it.
+ */
+public class AnalysisServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7070;
+    private static final String GRAPHS_PATH = "/graphs";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, LoadedGraph> graphs = new ConcurrentHashMap<>();
+    private final JSONParser parser = new JSONParser();
+
+    /**
+     * @param port    port to bind on the loopback interface; 0 picks a free port
+     * @param threads number of request-handling threads
+     */
+    public AnalysisServer(int port, int threads) throws IOException {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be positive");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext(GRAPHS_PATH, this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            body = dispatch(exchange);
+        } catch (AnalysisCancelledException e) {
+            status = 503;
+            body = ResultJson.error(e.getMessage());
+        } catch (NoSuchElementException e) {
+            status = 404;
+            body = ResultJson.error(e.getMessage());
+        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+            status = 400;
+            body = ResultJson.error(e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = ResultJson.error(e.toString());
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String dispatch(HttpExchange exchange) throws IOException {
+        URI uri = exchange.getRequestURI();
+        String method = exchange.getRequestMethod();
+        String path = uri.getPath();
+        if (!path.equals(GRAPHS_PATH) && !path.startsWith(GRAPHS_PATH + "/")) {
+            throw new NoSuchElementException("Unknown resource: " + path);
+        }
+        String[] parts = path.substring(GRAPHS_PATH.length()).split("/");
+        Map<String, String> query = parseQuery(uri.getRawQuery());
+        CancellationToken token = query.containsKey("timeoutMs")
+                ? CancellationToken.withTimeout(Duration.ofMillis(intParam(query, "timeoutMs")))
+                : CancellationToken.NONE;
+
+        if (parts.length <= 1) {
+            if (!"GET".equals(method)) throw new UnsupportedOperationException("Unsupported method: " + method);
+            StringBuilder sb = new StringBuilder("{\"graphs\":[");
+            int i = 0;
+            for (String name : graphs.keySet()) {
+                if (i++ > 0) sb.append(',');
+                sb.append(ResultJson.quote(name));
+            }
+            return sb.append("]}").toString();
+        }
+
+        String name = parts[1];
+        if (parts.length == 2) {
+            switch (method) {
+                case "PUT":
+                case "POST": {
+                    byte[] content;
+                    try (InputStream in = exchange.getRequestBody()) {
+                        content = in.readAllBytes();
+                    }
+                    LoadedGraph loaded = new LoadedGraph(parseBody(content, query));
+                    int components;
+                    try {
+                        components = loaded.analysis.withCancellation(token, a -> a.getSCCs().getComponentCount());
+                    } catch (RuntimeException e) {
+                        loaded.release();
+                        throw e;
+                    }
+                    LoadedGraph replaced = graphs.put(name, loaded);
+                    if (replaced != null) replaced.release();
+                    return "{\"name\":" + ResultJson.quote(name) + ",\"n\":" + loaded.graph.getN()
+                            + ",\"edges\":" + loaded.graph.getEdgeCount()
+                            + ",\"components\":" + components + "}";
+                }
+                case "DELETE": {
+                    LoadedGraph removed = graphs.remove(name);
+                    if (removed == null) throw new NoSuchElementException("Unknown graph: " + name);
+                    removed.release();
+                    return "{\"deleted\":" + ResultJson.quote(name) + "}";
+                }
+                default:
+                    throw new UnsupportedOperationException("Unsupported method: " + method);
+            }
+        }
+
+        if (!"GET".equals(method)) throw new UnsupportedOperationException("Unsupported method: " + method);
+        LoadedGraph loaded = graphs.get(name);
+        if (loaded == null || !loaded.acquire()) throw new NoSuchElementException("Unknown graph: " + name);
+        try {
+            return serve(loaded, parts[2], query, token);
+        } finally {
+            loaded.release();
+        }
+    }
+
+    private static String serve(LoadedGraph loaded, String resource, Map<String, String> query,
+                                CancellationToken token) {
+        switch (resource) {
+            case "scc":
+                return ResultJson.scc(loaded.analysis.withCancellation(token, GraphAnalysis::getSCCs));
+            case "topo":
+                return ResultJson.topo(loaded.analysis.withCancellation(token, GraphAnalysis::getTopologicalOrder));
+            case "critical-path":
+                return ResultJson.criticalPath(loaded.analysis.withCancellation(token, GraphAnalysis::getCriticalPath));
+            case "paths":
+                return loaded.paths(query, token);
+            case "reach": {
+                int from = intParam(query, "from");
+                int to = intParam(query, "to");
+                ReachabilityIndex index = loaded.analysis.withCancellation(token, GraphAnalysis::getReachability);
+                return "{\"from\":" + from + ",\"to\":" + to + ",\"reachable\":" + index.canReach(from, to) + "}";
+            }
+            default:
+                throw new NoSuchElementException("Unknown resource: " + resource);
+        }
+    }
+
+    private GraphStore parseBody(byte[] content, Map<String, String> query) {
+        if ("edges".equals(query.get("format"))) {
+            boolean directed = !"false".equals(query.get("directed"));
+            return new EdgeStreamReader().read(new ByteArrayInputStream(content), directed);
+        }
+        return parser.parseGraph(content);
+    }
+
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+        }
+        return params;
+    }
+
+    private static String decode(String component) {
+        return URLDecoder.decode(component, StandardCharsets.UTF_8);
+    }
+
+    private static int intParam(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null) throw new IllegalArgumentException("Missing parameter: " + key);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * A loaded graph with its lazily computed analysis; each stage runs on the
+     * first request that needs it and is then shared by later requests.
+     *
+     * <p>The graph is reference counted: the registry holds one reference and
+     * every request on it holds another, so an off-heap edge store is closed
+     * only when the graph has been removed and its last request has finished.
+     */
+    private static final class LoadedGraph {
+        final GraphStore graph;
+        final GraphAnalysis analysis;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        LoadedGraph(GraphStore graph) {
+            this.graph = graph;
+            this.analysis = new GraphAnalysis(graph, null);
+        }
+
+        /**
+         * @return false if the graph has already been released for good
+         */
+        boolean acquire() {
+            while (true) {
+                int count = references.get();
+                if (count == 0) return false;
+                if (references.compareAndSet(count, count + 1)) return true;
+            }
+        }
+
+        /**
+         * Drops one reference, closing an off-heap edge store with the last one.
+         */
+        void release() {
+            if (references.decrementAndGet() == 0 && graph instanceof OffHeapGraph) {
+                ((OffHeapGraph) graph).close();
+            }
+        }
+
+        /**
+         * Distances over the condensation from the component of the given source vertex.
+         */
+        String paths(Map<String, String> query, CancellationToken token) {
+            int source = query.containsKey("source") ? intParam(query, "source") : graph.getSource();
+            if (source < 0 || source >= graph.getN()) throw new IllegalArgumentException("Source vertex out of bounds: " + source);
+            int component = analysis.withCancellation(token, a -> a.getSCCs().getComponentOf()[source]);
+            String kind = query.getOrDefault("kind", "shortest");
+            FrozenGraph condensation = analysis.withCancellation(token, GraphAnalysis::getCondensation);
+            DAGShortestPath finder = new DAGShortestPath(true);
+            switch (kind) {
+                case "shortest":
+                    return ResultJson.distances(component, finder.findShortestPaths(condensation, component, null, token),
+                            DAGShortestPath.INF);
+                case "longest":
+                    return ResultJson.distances(component, finder.findLongestPaths(condensation, component, null, token),
+                            -DAGShortestPath.INF);
+                default:
+                    throw new IllegalArgumentException("Unknown path kind: " + kind);
+            }
+        }
+    }
+}
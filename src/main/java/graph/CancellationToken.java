@@ -0,0 +1,106 @@
+package graph;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cooperative cancellation for long analyses. Algorithms call
+ * {@link #checkpoint(String, long, long)} once every {@value #CHECK_INTERVAL}
+ * vertices from their hot loops, a mask test in between, and stop with an
+ * {@link AnalysisCancelledException} once the token is cancelled or its deadline
+ * has passed. The same calls feed an optional {@link ProgressListener}.
+ *
+ * <p>Tokens are thread-safe; {@link #cancel()} may be called from any thread.
+ * {@link #NONE} never cancels and is what the overloads without a token use.
+ */
+public final class CancellationToken {
+    /** Vertices processed between two checkpoints; a power of two. */
+    public static final int CHECK_INTERVAL = 4096;
+    static final int CHECK_MASK = CHECK_INTERVAL - 1;
+
+    public static final CancellationToken NONE = new CancellationToken(false, 0, null, null);
+
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final ProgressListener listener;
+    private final AtomicBoolean cancelled;
+
+    private CancellationToken(boolean hasDeadline, long deadlineNanos, ProgressListener listener, AtomicBoolean cancelled) {
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+        this.listener = listener;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * @return a token that stops only when {@link #cancel()} is called
+     */
+    public static CancellationToken cancellable() {
+        return new CancellationToken(false, 0, null, new AtomicBoolean());
+    }
+
+    /**
+     * @param timeout time from now after which the analysis stops
+     * @return a token with a deadline that can also be cancelled explicitly
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "Timeout cannot be null");
+        return new CancellationToken(true, System.nanoTime() + timeout.toNanos(), null, new AtomicBoolean());
+    }
+
+    /**
+     * @param listener receives progress reports at every checkpoint
+     * @return a token with the same deadline and cancellation state that also reports progress
+     */
+    public CancellationToken withProgress(ProgressListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        return new CancellationToken(hasDeadline, deadlineNanos, listener,
+                cancelled == null ? new AtomicBoolean() : cancelled);
+    }
+
+    /**
+     * Requests cancellation; running algorithms stop at their next checkpoint.
+     *
+     * @throws UnsupportedOperationException on {@link #NONE}
+     */
+    public void cancel() {
+        if (cancelled == null) throw new UnsupportedOperationException("NONE cannot be cancelled");
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return (cancelled != null && cancelled.get()) || (hasDeadline && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    /**
+     * @return nanoseconds left until the deadline, zero or less once it has passed,
+     *         or {@code Long.MAX_VALUE} for a token without one
+     */
+    public long remainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * @throws AnalysisCancelledException if the token is cancelled or past its deadline
+     */
+    public void throwIfCancelled() {
+        if (cancelled != null && cancelled.get()) throw new AnalysisCancelledException("Analysis cancelled");
+        if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            throw new AnalysisCancelledException("Analysis deadline exceeded");
+        }
+    }
+
+    /**
+     * Reports progress and stops the caller if the token is cancelled.
+     *
+     * @param task      name of the running algorithm
+     * @param processed vertices processed so far
+     * @param total     vertices in the input
+     * @throws AnalysisCancelledException if the token is cancelled or past its deadline
+     */
+    public void checkpoint(String task, long processed, long total) {
+        if (listener != null) listener.onProgress(task, processed, total);
+        throwIfCancelled();
+    }
+}
@@ -0,0 +1,262 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compressed adjacency for very large sparse graphs, in the style of WebGraph.
+ * Each vertex's out-neighbors are sorted and stored as a byte stream: the byte
+ * length of the list, the first neighbor as a zigzag varint gap from the vertex
+ * itself, then every further neighbor as a varint gap from the previous one,
+ * each followed by the zigzag varint weight unless all weights are 1. With
+ * local dependencies most gaps fit in one byte, so an edge costs one or two
+ * bytes instead of the eight of a plain CSR target and weight.
+ *
+ * <p>Byte offsets are only kept for every {@value #OFFSET_SAMPLE}th vertex; the
+ * lists in between are skipped through their length headers. Neighbors are read
+ * through a {@link Cursor}, which decodes sequentially and allocates nothing.
+ * {@link TarjanSCC}, {@link KahnTopologicalSort} and {@link CriticalPathFinder}
+ * have overloads that run on this representation directly. The byte stream is
+ * limited to 2 GB.
+ */
+public final class CompressedGraph {
+    static final int OFFSET_SAMPLE = 16;
+    private static final int OFFSET_SHIFT = 4;
+
+    private final int n;
+    private final int edgeCount;
+    private final String weightModel;
+    private final int source;
+    private final boolean unitWeights;
+    private final int[] sampledOffsets;
+    private final byte[] data;
+
+    private CompressedGraph(int n, int edgeCount, String weightModel, int source,
+                            boolean unitWeights, int[] sampledOffsets, byte[] data) {
+        this.n = n;
+        this.edgeCount = edgeCount;
+        this.weightModel = weightModel;
+        this.source = source;
+        this.unitWeights = unitWeights;
+        this.sampledOffsets = sampledOffsets;
+        this.data = data;
+    }
+
+    /**
+     * Compresses the directed view of a graph (undirected edges in both directions).
+     * Parallel edges are kept.
+     *
+     * @param graph the graph to compress
+     * @return compressed copy of the graph
+     * @throws IllegalArgumentException if the encoded graph exceeds 2 GB
+     */
+    public static CompressedGraph of(GraphStore graph) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        CsrAdjacency adj = CsrAdjacency.of(graph);
+        int n = adj.getN();
+        boolean unitWeights = true;
+        for (int i = 0; i < adj.getEdgeCount() && unitWeights; i++) unitWeights = adj.weights[i] == 1;
+
+        int[] sampledOffsets = new int[((n + OFFSET_SAMPLE - 1) >> OFFSET_SHIFT) + 1];
+        long estimate = n + (long) adj.getEdgeCount() * (unitWeights ? 1 : 2);
+        byte[] data = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, estimate))];
+        byte[] list = new byte[16];
+        long[] sorted = new long[0];
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            int degree = adj.outDegree(v);
+            if (sorted.length < degree) sorted = new long[Math.max(degree, sorted.length * 2)];
+            for (int i = 0; i < degree; i++) {
+                int e = adj.offsets[v] + i;
+                sorted[i] = ((long) adj.targets[e] << 32) | (adj.weights[e] & 0xffffffffL);
+            }
+            Arrays.sort(sorted, 0, degree);
+
+            list = ensureCapacity(list, degree * 10L);
+            int length = 0;
+            int previous = v;
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (sorted[i] >>> 32);
+                length = writeVarint(list, length, i == 0 ? zigzag(target - v) : target - previous);
+                if (!unitWeights) length = writeVarint(list, length, zigzag((int) sorted[i]));
+                previous = target;
+            }
+
+            if ((v & (OFFSET_SAMPLE - 1)) == 0) sampledOffsets[v >> OFFSET_SHIFT] = pos;
+            data = ensureCapacity(data, pos + 5L + length);
+            pos = writeVarint(data, pos, length);
+            System.arraycopy(list, 0, data, pos, length);
+            pos += length;
+        }
+        sampledOffsets[sampledOffsets.length - 1] = pos;
+        return new CompressedGraph(n, adj.getEdgeCount(), graph.getWeightModel(), graph.getSource(),
+                unitWeights, sampledOffsets, Arrays.copyOf(data, pos));
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * @return number of directed edges
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * @return bytes held by the sampled offsets and the encoded neighbor lists
+     */
+    public long getSizeBytes() {
+        return (long) sampledOffsets.length * Integer.BYTES + data.length;
+    }
+
+    /**
+     * @return out-degree of {@code v}; decodes the list, O(degree)
+     */
+    public int outDegree(int v) {
+        Cursor cursor = cursor().reset(v);
+        int degree = 0;
+        while (cursor.hasNext()) {
+            cursor.next();
+            degree++;
+        }
+        return degree;
+    }
+
+    /**
+     * @return a new cursor; reuse it across vertices with {@link Cursor#reset(int)}
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Sequential decoder over one vertex's neighbor list, in ascending target order.
+     * Not thread-safe; use one cursor per thread.
+     */
+    public final class Cursor {
+        private int position;
+        private int end;
+        /** Last returned neighbor, or {@code -1 - v} before the first neighbor of {@code v}. */
+        private int previous;
+        private int weight;
+
+        private Cursor() {
+        }
+
+        /**
+         * Positions the cursor at the start of {@code v}'s neighbor list.
+         */
+        public Cursor reset(int v) {
+            int pos = sampledOffsets[v >> OFFSET_SHIFT];
+            for (int u = v & ~(OFFSET_SAMPLE - 1); ; u++) {
+                int length = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    length |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                if (u == v) {
+                    restore(pos, pos + length, -1 - v);
+                    return this;
+                }
+                pos += length;
+            }
+        }
+
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        /**
+         * @return the next neighbor; its edge weight is then available from {@link #weight()}
+         */
+        public int next() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous = previous < 0 ? -1 - previous + ((value >>> 1) ^ -(value & 1)) : previous + value;
+            if (unitWeights) {
+                weight = 1;
+            } else {
+                value = 0;
+                shift = 0;
+                do {
+                    b = data[position++];
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                weight = (value >>> 1) ^ -(value & 1);
+            }
+            return previous;
+        }
+
+        /**
+         * @return weight of the edge to the neighbor last returned by {@link #next()}
+         */
+        public int weight() {
+            return weight;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int end() {
+            return end;
+        }
+
+        int previous() {
+            return previous;
+        }
+
+        /**
+         * Resumes decoding from a state saved through {@link #position()},
+         * {@link #end()} and {@link #previous()}, so a DFS can suspend a
+         * neighbor list per stack frame without decoding it again.
+         */
+        void restore(int position, int end, int previous) {
+            this.position = position;
+            this.end = end;
+            this.previous = previous;
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int writeVarint(byte[] data, int pos, int value) {
+        while ((value & ~0x7f) != 0) {
+            data[pos++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        data[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static byte[] ensureCapacity(byte[] data, long required) {
+        if (required <= data.length) return data;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Compressed graph exceeds 2 GB");
+        }
+        long grown = Math.max(required, Math.min(Integer.MAX_VALUE - 8L, (long) data.length * 3 / 2));
+        return Arrays.copyOf(data, (int) grown);
+    }
+}
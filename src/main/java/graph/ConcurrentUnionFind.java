@@ -0,0 +1,79 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free disjoint-set forest over the vertices {@code 0..n-1}. Any number of
+ * threads may call {@link #union(int, int)} and {@link #find(int)} concurrently.
+ *
+ * <p>Roots are always linked under the smaller root with a compare-and-set on the
+ * parent slot, retrying if another thread changed the root in between, so the
+ * root of a set is its minimum element once all unions have returned. Since
+ * parents only ever decrease, {@link #find(int)} can shorten paths by halving
+ * with plain CAS, and a failed CAS is simply ignored.
+ */
+public final class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentUnionFind(int n) {
+        if (n < 0) throw new IllegalArgumentException("Vertex count must be non-negative");
+        parent = new AtomicIntegerArray(n);
+        for (int v = 0; v < n; v++) parent.set(v, v);
+    }
+
+    /**
+     * @return number of elements
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * @param v element
+     * @return current root of the set containing {@code v}
+     */
+    public int find(int v) {
+        int p = parent.get(v);
+        while (p != v) {
+            int grandparent = parent.get(p);
+            if (grandparent != p) parent.compareAndSet(v, p, grandparent);
+            v = p;
+            p = parent.get(v);
+        }
+        return v;
+    }
+
+    /**
+     * Merges the sets containing {@code u} and {@code v}.
+     *
+     * @return {@code true} if this call linked two different sets
+     */
+    public boolean union(int u, int v) {
+        while (true) {
+            int ru = find(u);
+            int rv = find(v);
+            if (ru == rv) return false;
+            if (ru < rv) {
+                int t = ru;
+                ru = rv;
+                rv = t;
+            }
+            if (parent.compareAndSet(ru, ru, rv)) return true;
+        }
+    }
+
+    /**
+     * Exact once no union is in progress; while other threads are merging, a
+     * {@code false} result may already be outdated.
+     *
+     * @return whether {@code u} and {@code v} are in the same set
+     */
+    public boolean connected(int u, int v) {
+        while (true) {
+            int ru = find(u);
+            int rv = find(v);
+            if (ru == rv) return true;
+            if (parent.get(ru) == ru) return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel construction of the condensation DAG. Edge chunks are mapped to
+ * packed {@code (component(u), component(v))} keys on separate threads, the keys
+ * are deduplicated with {@link Arrays#parallelSort(long[])}, and the sorted keys
+ * are already the DAG's edges in CSR order (grouped by source, ascending target),
+ * so no hash set is involved.
+ *
+ * <p>The cancellable overloads check their token once per edge chunk and around
+ * the sort.
+ */
+public final class CondensationBuilder {
+    /** Below this edge count the keys are collected on the calling thread. */
+    static final int PARALLEL_MIN_EDGES = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    private CondensationBuilder() {
+    }
+
+    /**
+     * @param original    the original graph
+     * @param componentOf component id per original vertex
+     * @param components  number of components
+     * @param metrics     optional metrics collector; counts distinct DAG edges as COND_EDGES
+     * @return condensation DAG with unit weights, edges sorted by (source, target)
+     * @throws IllegalArgumentException if a component id is out of range
+     */
+    public static FrozenGraph build(GraphStore original, int[] componentOf, int components, Metrics metrics) {
+        return build(original, componentOf, components, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #build(GraphStore, int[], int, Metrics)}.
+     *
+     * @param token cancellation token
+     * @throws AnalysisCancelledException if the token is cancelled during the build
+     */
+    public static FrozenGraph build(GraphStore original, int[] componentOf, int components, Metrics metrics,
+                                    CancellationToken token) {
+        Objects.requireNonNull(original, "Original graph cannot be null");
+        Objects.requireNonNull(componentOf, "Component mapping cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        if (componentOf.length != original.getN()) {
+            throw new IllegalArgumentException("Component mapping length must equal vertex count");
+        }
+        for (int c : componentOf) {
+            if (c < 0 || c >= components) throw new IllegalArgumentException("Invalid component id: " + c);
+        }
+
+        int m = original.getEdgeCount();
+        int chunks = (m + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long[][] chunkKeys = new long[chunks][];
+        int[] chunkCounts = new int[chunks];
+        IntStream range = IntStream.range(0, chunks);
+        if (m >= PARALLEL_MIN_EDGES) range = range.parallel();
+        range.forEach(c -> {
+            token.throwIfCancelled();
+            int from = c * CHUNK_SIZE;
+            int to = Math.min(m, from + CHUNK_SIZE);
+            long[] keys = new long[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int cu = componentOf[original.getEdgeSource(i)];
+                int cv = componentOf[original.getEdgeDestination(i)];
+                if (cu != cv) keys[count++] = ((long) cu << 32) | cv;
+            }
+            chunkKeys[c] = keys;
+            chunkCounts[c] = count;
+        });
+
+        int total = 0;
+        for (int count : chunkCounts) total += count;
+        long[] keys = new long[total];
+        int pos = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(chunkKeys[c], 0, keys, pos, chunkCounts[c]);
+            pos += chunkCounts[c];
+            chunkKeys[c] = null;
+        }
+        token.throwIfCancelled();
+        if (m >= PARALLEL_MIN_EDGES) Arrays.parallelSort(keys);
+        else Arrays.sort(keys);
+        token.throwIfCancelled();
+
+        int distinct = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) keys[distinct++] = keys[i];
+        }
+        int[] sources = new int[distinct];
+        int[] destinations = new int[distinct];
+        int[] weights = new int[distinct];
+        Arrays.fill(weights, 1);
+        for (int i = 0; i < distinct; i++) {
+            sources[i] = (int) (keys[i] >>> 32);
+            destinations[i] = (int) keys[i];
+        }
+        if (metrics != null && distinct > 0) metrics.incrementCounter(Metrics.COND_EDGES, distinct);
+        return new FrozenGraph(components, true, original.getWeightModel(), 0, sources, destinations, weights);
+    }
+
+    /**
+     * Convenience overload taking the component assignment from an SCC result.
+     */
+    public static FrozenGraph build(GraphStore original, SCCResult scc, Metrics metrics) {
+        return build(original, scc, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable convenience overload taking the component assignment from an SCC result.
+     */
+    public static FrozenGraph build(GraphStore original, SCCResult scc, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(scc, "SCC result cannot be null");
+        return build(original, scc.getComponentOf(), scc.getComponentCount(), metrics, token);
+    }
+}
@@ -1,16 +1,38 @@
 package graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Finds the critical path (longest path) in a directed acyclic graph (DAG).
  * Uses topological sorting and dynamic programming for efficient computation.
+ *
+ * <p>In parallel mode the DP runs over the topological levels instead: every
+ * vertex of a level pulls the best distance from its predecessors through the
+ * reverse CSR, and the vertices of one level are processed concurrently. Each
+ * vertex writes only its own entries, so no atomics are needed, and ties go to
+ * the predecessor that comes first in topological order, giving the same path
+ * as the sequential DP.
  */
 public class CriticalPathFinder {
     private static final int INF = Integer.MIN_VALUE / 4;
 
+    private final boolean parallel;
+
+    public CriticalPathFinder() {
+        this(false);
+    }
+
+    /**
+     * @param parallel whether to run the DP level by level on the common pool
+     */
+    public CriticalPathFinder(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * Finds the critical path (longest path) in the given DAG.
      * 
@@ -19,25 +41,169 @@ public class CriticalPathFinder {
      * @return CriticalPathResult containing the path and its total weight
      * @throws IllegalArgumentException if graph is null
      */
-    public CriticalPathResult findCriticalPath(Graph dag, Metrics metrics) {
+    public CriticalPathResult findCriticalPath(GraphStore dag, Metrics metrics) {
+        return findCriticalPath(dag, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant; checks {@code token} once every
+     * {@value CancellationToken#CHECK_INTERVAL} vertices of the ordering and of
+     * the DP. Progress counts both phases, so it runs up to {@code 2n}.
+     *
+     * @param dag     the directed acyclic graph
+     * @param metrics optional metrics collector for performance tracking
+     * @param token   cancellation and progress token
+     * @return CriticalPathResult containing the path and its total weight
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    public CriticalPathResult findCriticalPath(GraphStore dag, Metrics metrics, CancellationToken token) {
         Objects.requireNonNull(dag, "Graph cannot be null");
-        
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
         int n = dag.getN();
         if (n == 0) return new CriticalPathResult(new ArrayList<>(), 0);
+        if (parallel) {
+            LevelResult levels = new KahnTopologicalSort().topologicalLevels(dag, null, metrics, token);
+            if (!levels.hasCycle()) return findCriticalPathByLevels(dag, levels, token);
+        }
+        return findCriticalPathSequential(dag, n, metrics, token);
+    }
 
-        List<List<int[]>> adj = new ArrayList<>(n);
+    /**
+     * Level-parallel DP over a level decomposition the caller already holds, so
+     * the ordering is not computed (or counted in {@code metrics}) again. Falls
+     * back to the sequential DP if {@code levels} reports a cycle.
+     *
+     * @param levels level decomposition of {@code dag}
+     */
+    CriticalPathResult findCriticalPath(GraphStore dag, LevelResult levels, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(levels, "Levels cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
+        int n = dag.getN();
+        if (n == 0) return new CriticalPathResult(new ArrayList<>(), 0);
+        if (!levels.hasCycle()) return findCriticalPathByLevels(dag, levels, token);
+        return findCriticalPathSequential(dag, n, metrics, token);
+    }
+
+    private CriticalPathResult findCriticalPathSequential(GraphStore dag, int n, Metrics metrics,
+            CancellationToken token) {
+        CsrAdjacency adj = CsrAdjacency.of(dag);
         int[] indeg = new int[n];
-        buildAdjacency(dag, adj, indeg, n);
+        for (int i = 0; i < adj.getEdgeCount(); i++) indeg[adj.targets[i]]++;
 
         int[] indegCopy = indeg.clone();
-        int[] topoOrder = computeTopologicalOrder(adj, indeg, n, metrics);
+        int[] topoOrder = computeTopologicalOrder(adj, indeg, n, metrics, token);
         int orderSize = 0;
         for (int i = 0; i < n; i++) if (topoOrder[i] != -1) orderSize++;
 
         int[] dist = new int[n];
         int[] prev = new int[n];
-        computeLongestPaths(adj, topoOrder, orderSize, indegCopy, dist, prev, n, metrics);
+        computeLongestPaths(adj, topoOrder, orderSize, indegCopy, dist, prev, n, token);
+        return toResult(dist, prev);
+    }
 
+    /**
+     * Finds the critical path directly on a compressed graph: Kahn's order and
+     * the longest-path relaxation both decode neighbor lists through one cursor.
+     *
+     * @param dag     the compressed directed acyclic graph
+     * @param metrics optional metrics collector for performance tracking
+     * @return CriticalPathResult containing the path and its total weight
+     */
+    public CriticalPathResult findCriticalPath(CompressedGraph dag, Metrics metrics) {
+        return findCriticalPath(dag, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #findCriticalPath(CompressedGraph, Metrics)};
+     * ordering and relaxation share one pass, so {@code token} is checked once
+     * every {@value CancellationToken#CHECK_INTERVAL} emitted vertices and
+     * progress runs up to {@code n}.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    public CriticalPathResult findCriticalPath(CompressedGraph dag, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        int n = dag.getN();
+        if (n == 0) return new CriticalPathResult(new ArrayList<>(), 0);
+
+        CompressedGraph.Cursor cursor = dag.cursor();
+        int[] indeg = new int[n];
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.hasNext()) indeg[cursor.next()]++;
+        }
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        int[] order = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            prev[v] = -1;
+            if (indeg[v] == 0) {
+                order[tail++] = v;
+            } else {
+                dist[v] = INF;
+            }
+        }
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0 && head > 0) token.checkpoint("CRITICAL_PATH", head, n);
+            int u = order[head++];
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                if (dist[u] != INF && dist[v] < dist[u] + cursor.weight()) {
+                    dist[v] = dist[u] + cursor.weight();
+                    prev[v] = u;
+                }
+                if (--indeg[v] == 0) order[tail++] = v;
+            }
+        }
+        if (metrics != null && tail > 0) metrics.incrementCounter("cp_kahn", tail);
+        return toResult(dist, prev);
+    }
+
+    /**
+     * Pull-based DP over the levels of an acyclic graph.
+     *
+     * @param dag    the graph
+     * @param levels level decomposition of {@code dag}; must be cycle-free
+     * @return CriticalPathResult containing the path and its total weight
+     */
+    private CriticalPathResult findCriticalPathByLevels(GraphStore dag, LevelResult levels, CancellationToken token) {
+        CsrAdjacency reverse = CsrAdjacency.of(dag).reverse();
+        int[] position = levels.positions();
+        int[] dist = new int[dag.getN()];
+        int[] prev = new int[dag.getN()];
+        Arrays.fill(prev, -1);
+        int n = dag.getN();
+        levels.sweep(1, v -> {
+            if ((position[v] & CancellationToken.CHECK_MASK) == 0) token.checkpoint("CRITICAL_PATH", n + position[v], 2L * n);
+            int best = INF;
+            int bestU = -1;
+            for (int i = reverse.offsets[v]; i < reverse.offsets[v + 1]; i++) {
+                int u = reverse.targets[i];
+                int candidate = dist[u] + reverse.weights[i];
+                if (candidate > best || (candidate == best && position[u] < position[bestU])) {
+                    best = candidate;
+                    bestU = u;
+                }
+            }
+            dist[v] = best;
+            prev[v] = bestU;
+            return 0;
+        });
+        return toResult(dist, prev);
+    }
+
+    private CriticalPathResult toResult(int[] dist, int[] prev) {
+        int n = dist.length;
         int maxDist = Integer.MIN_VALUE;
         int maxNode = -1;
         for (int i = 0; i < n; i++) {
@@ -51,32 +217,18 @@ public class CriticalPathFinder {
         return new CriticalPathResult(path, Math.max(0, maxDist));
     }
 
-    /**
-     * Builds adjacency list representation with edge weights.
-     *
-     * @param dag   the graph
-     * @param adj   adjacency list to populate
-     * @param indeg in-degree array to populate
-     * @param n     number of vertices
-     */
-    private void buildAdjacency(Graph dag, List<List<int[]>> adj, int[] indeg, int n) {
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-        for (Edge e : dag.getEdges()) {
-            adj.get(e.getSource()).add(new int[]{e.getDestination(), e.getWeight()});
-            indeg[e.getDestination()]++;
-        }
-    }
-
     /**
      * Computes topological order using Kahn's algorithm.
      *
-     * @param adj     adjacency list
+     * @param adj     CSR adjacency
      * @param indeg   in-degree array
      * @param n       number of vertices
      * @param metrics optional metrics collector
+     * @param token   cancellation and progress token
      * @return array of vertices in topological order
      */
-    private int[] computeTopologicalOrder(List<List<int[]>> adj, int[] indeg, int n, Metrics metrics) {
+    private int[] computeTopologicalOrder(CsrAdjacency adj, int[] indeg, int n, Metrics metrics,
+                                          CancellationToken token) {
         int[] order = new int[n];
         for (int i = 0; i < n; i++) order[i] = -1;
         
@@ -85,31 +237,32 @@ public class CriticalPathFinder {
         for (int i = 0; i < n; i++) if (indeg[i] == 0) q[tail++] = i;
         
         while (head < tail) {
+            if ((k & CancellationToken.CHECK_MASK) == 0 && k > 0) token.checkpoint("CRITICAL_PATH", k, 2L * n);
             int u = q[head++];
             order[k++] = u;
-            if (metrics != null) metrics.incrementCounter("cp_kahn");
-            for (int[] edge : adj.get(u)) {
-                int v = edge[0];
+            for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                int v = adj.targets[i];
                 if (--indeg[v] == 0) q[tail++] = v;
             }
         }
+        if (metrics != null && k > 0) metrics.incrementCounter("cp_kahn", k);
         return order;
     }
 
     /**
      * Computes longest paths from all source vertices using dynamic programming.
      *
-     * @param adj       adjacency list
+     * @param adj       CSR adjacency
      * @param topoOrder topological order of vertices
      * @param orderSize size of topological order
      * @param indegCopy original in-degree array to identify sources
      * @param dist      distance array to populate
      * @param prev      predecessor array for path reconstruction
      * @param n         number of vertices
-     * @param metrics   optional metrics collector
+     * @param token     cancellation and progress token
      */
-    private void computeLongestPaths(List<List<int[]>> adj, int[] topoOrder, int orderSize,
-                                     int[] indegCopy, int[] dist, int[] prev, int n, Metrics metrics) {
+    private void computeLongestPaths(CsrAdjacency adj, int[] topoOrder, int orderSize,
+                                     int[] indegCopy, int[] dist, int[] prev, int n, CancellationToken token) {
         for (int i = 0; i < n; i++) {
             dist[i] = INF;
             prev[i] = -1;
@@ -117,11 +270,12 @@ public class CriticalPathFinder {
         for (int i = 0; i < n; i++) if (indegCopy[i] == 0) dist[i] = 0;
 
         for (int i = 0; i < orderSize; i++) {
+            if ((i & CancellationToken.CHECK_MASK) == 0) token.checkpoint("CRITICAL_PATH", n + i, 2L * n);
             int u = topoOrder[i];
             if (dist[u] == INF) continue;
-            for (int[] edge : adj.get(u)) {
-                int v = edge[0];
-                int w = edge[1];
+            for (int e = adj.offsets[u]; e < adj.offsets[u + 1]; e++) {
+                int v = adj.targets[e];
+                int w = adj.weights[e];
                 if (dist[v] < dist[u] + w) {
                     dist[v] = dist[u] + w;
                     prev[v] = u;
@@ -141,11 +295,8 @@ public class CriticalPathFinder {
         List<Integer> path = new ArrayList<>();
         if (node == -1) return path;
         
-        int cur = node;
-        while (cur != -1) {
-            path.add(0, cur);
-            cur = prev[cur];
-        }
+        for (int cur = node; cur != -1; cur = prev[cur]) path.add(cur);
+        Collections.reverse(path);
         return path;
     }
 }
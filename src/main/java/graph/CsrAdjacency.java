@@ -0,0 +1,232 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed sparse row (CSR) adjacency built from a {@link GraphStore}.
+ * The out-edges of vertex {@code v} occupy positions {@code [start(v), end(v))}
+ * of the target and weight arrays, in the order they appear in the store.
+ * Algorithms walk these primitive arrays instead of per-vertex lists.
+ *
+ * <p>Construction is a counting sort by source. Above {@link #PARALLEL_MIN_EDGES}
+ * edges it runs on the common pool: each edge chunk counts its sources into its
+ * own histogram, the histograms are turned into per-chunk write positions, and
+ * the chunks scatter their edges independently. Chunk {@code c} writes behind
+ * all earlier chunks, so the result is identical to the sequential build.
+ * The number of chunks is capped so the histograms never outgrow the edge
+ * arrays themselves.
+ */
+public final class CsrAdjacency {
+    static final int PARALLEL_MIN_EDGES = 1 << 16;
+    private static final int MIN_CHUNK_EDGES = 1 << 14;
+
+    private final int n;
+    final int[] offsets;
+    final int[] targets;
+    final int[] weights;
+
+    CsrAdjacency(int n, int[] offsets, int[] targets, int[] weights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the forward adjacency of the graph with a counting sort by source.
+     *
+     * @param graph the graph to index
+     * @return CSR adjacency with edges grouped by source vertex
+     */
+    public static CsrAdjacency of(GraphStore graph) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        return build(graph.getN(), graph.getEdgeCount(), graph::getEdgeSource, graph::getEdgeDestination,
+                graph::getEdgeWeight);
+    }
+
+    /**
+     * Builds the forward adjacency, optionally dropping parallel edges. Of several
+     * edges {@code u -> v} only the first one in store order is kept, with its
+     * weight; deduplicated neighbor lists are sorted by target.
+     *
+     * @param graph          the graph to index
+     * @param dropDuplicates whether to keep only one edge per (source, target) pair
+     * @return CSR adjacency with edges grouped by source vertex
+     */
+    public static CsrAdjacency of(GraphStore graph, boolean dropDuplicates) {
+        CsrAdjacency adj = of(graph);
+        return dropDuplicates ? adj.withoutDuplicates() : adj;
+    }
+
+    /**
+     * Builds the transposed adjacency: for every edge {@code u -> v} of this
+     * graph the result holds {@code v -> u} with the same weight. In-edges of a
+     * vertex are ordered by source.
+     *
+     * @return CSR adjacency of the reversed graph
+     */
+    public CsrAdjacency reverse() {
+        int m = targets.length;
+        int[] sources = new int[m];
+        forEachRange(n, n >= PARALLEL_MIN_EDGES || m >= PARALLEL_MIN_EDGES, (from, to) -> {
+            for (int u = from; u < to; u++) Arrays.fill(sources, offsets[u], offsets[u + 1], u);
+        });
+        int[] weightColumn = weights;
+        int[] targetColumn = targets;
+        return build(n, m, i -> targetColumn[i], i -> sources[i], i -> weightColumn[i]);
+    }
+
+    private static CsrAdjacency build(int n, int m, IntUnaryOperator source, IntUnaryOperator destination,
+                                      IntUnaryOperator weight) {
+        int chunks = chunkCount(n, m);
+        int chunkSize = chunks == 0 ? 0 : (m + chunks - 1) / chunks;
+        int[][] cursors = new int[chunks][];
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) range = range.parallel();
+        range.forEach(c -> {
+            int[] histogram = new int[n];
+            for (int i = c * chunkSize, end = Math.min(m, i + chunkSize); i < end; i++) {
+                histogram[source.applyAsInt(i)]++;
+            }
+            cursors[c] = histogram;
+        });
+
+        int[] offsets = new int[n + 1];
+        forEachRange(n, chunks > 1, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int degree = 0;
+                for (int c = 0; c < chunks; c++) degree += cursors[c][v];
+                offsets[v + 1] = degree;
+            }
+        });
+        if (chunks > 1) {
+            Arrays.parallelPrefix(offsets, Integer::sum);
+        } else {
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        }
+        forEachRange(n, chunks > 1, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int pos = offsets[v];
+                for (int c = 0; c < chunks; c++) {
+                    int count = cursors[c][v];
+                    cursors[c][v] = pos;
+                    pos += count;
+                }
+            }
+        });
+
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        range = IntStream.range(0, chunks);
+        if (chunks > 1) range = range.parallel();
+        range.forEach(c -> {
+            int[] cursor = cursors[c];
+            for (int i = c * chunkSize, end = Math.min(m, i + chunkSize); i < end; i++) {
+                int pos = cursor[source.applyAsInt(i)]++;
+                targets[pos] = destination.applyAsInt(i);
+                weights[pos] = weight.applyAsInt(i);
+            }
+        });
+        return new CsrAdjacency(n, offsets, targets, weights);
+    }
+
+    /**
+     * One histogram per chunk costs {@code n} ints, so the chunk count is bounded
+     * by the parallelism and by keeping all histograms within twice the edge count.
+     */
+    private static int chunkCount(int n, int m) {
+        if (m == 0) return 0;
+        if (m < PARALLEL_MIN_EDGES) return 1;
+        int byParallelism = ForkJoinPool.getCommonPoolParallelism();
+        int byEdges = m / MIN_CHUNK_EDGES;
+        long byMemory = 2L * m / Math.max(1, n);
+        return (int) Math.max(1, Math.min(Math.min(byParallelism, byEdges), byMemory));
+    }
+
+    private CsrAdjacency withoutDuplicates() {
+        int m = targets.length;
+        long[] keys = new long[m];
+        int[] kept = new int[n + 1];
+        boolean parallel = m >= PARALLEL_MIN_EDGES;
+        forEachRange(n, parallel, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int start = offsets[v], end = offsets[v + 1];
+                for (int i = start; i < end; i++) keys[i] = ((long) targets[i] << 32) | (i - start);
+                Arrays.sort(keys, start, end);
+                int count = 0;
+                for (int i = start; i < end; i++) {
+                    if (i == start || (keys[i] >>> 32) != (keys[i - 1] >>> 32)) keys[start + count++] = keys[i];
+                }
+                kept[v + 1] = count;
+            }
+        });
+        if (parallel) {
+            Arrays.parallelPrefix(kept, Integer::sum);
+        } else {
+            for (int v = 0; v < n; v++) kept[v + 1] += kept[v];
+        }
+        int[] newTargets = new int[kept[n]];
+        int[] newWeights = new int[kept[n]];
+        forEachRange(n, parallel, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int start = offsets[v];
+                for (int i = kept[v]; i < kept[v + 1]; i++) {
+                    long key = keys[start + i - kept[v]];
+                    newTargets[i] = (int) (key >>> 32);
+                    newWeights[i] = weights[start + (int) key];
+                }
+            }
+        });
+        return new CsrAdjacency(n, kept, newTargets, newWeights);
+    }
+
+    /**
+     * Splits {@code [0, count)} into contiguous ranges and runs them on the
+     * common pool when {@code parallel} is set.
+     */
+    private static void forEachRange(int count, boolean parallel, RangeTask task) {
+        if (!parallel || count < MIN_CHUNK_EDGES) {
+            task.run(0, count);
+            return;
+        }
+        int ranges = Math.max(1, Math.min(count / MIN_CHUNK_EDGES, 4 * ForkJoinPool.getCommonPoolParallelism()));
+        int size = (count + ranges - 1) / ranges;
+        IntStream.range(0, ranges).parallel().forEach(r -> task.run(r * size, Math.min(count, (r + 1) * size)));
+    }
+
+    private interface RangeTask {
+        void run(int from, int to);
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public int start(int v) {
+        return offsets[v];
+    }
+
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    public int target(int i) {
+        return targets[i];
+    }
+
+    public int weight(int i) {
+        return weights[i];
+    }
+}
@@ -1,15 +1,37 @@
 package graph;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Finds shortest and longest paths in a directed acyclic graph (DAG).
  * Uses topological sorting combined with dynamic programming.
+ *
+ * <p>In parallel mode distances are computed over the topological levels: each
+ * vertex pulls from its predecessors through the reverse CSR, and the vertices
+ * of one level run concurrently without atomics. Cyclic input falls back to
+ * the sequential DP.
+ *
+ * <p>The cancellable overloads check their token before starting, inside the
+ * topological sort or level decomposition, and once per
+ * {@value CancellationToken#CHECK_INTERVAL} vertices of the DP.
  */
 public class DAGShortestPath {
-    private static final int INF = Integer.MAX_VALUE / 2;
+    static final int INF = Integer.MAX_VALUE / 2;
+
+    private final boolean parallel;
+
+    public DAGShortestPath() {
+        this(false);
+    }
+
+    /**
+     * @param parallel whether to run the DP level by level on the common pool
+     */
+    public DAGShortestPath(boolean parallel) {
+        this.parallel = parallel;
+    }
 
     /**
      * Finds shortest paths from a source vertex to all other vertices.
@@ -20,15 +42,58 @@ public class DAGShortestPath {
      * @return array where dist[i] is the shortest path distance from source to i
      * @throws IllegalArgumentException if graph is null or source is out of bounds
      */
-    public int[] findShortestPaths(Graph dag, int source, Metrics metrics) {
+    public int[] findShortestPaths(GraphStore dag, int source, Metrics metrics) {
+        return findShortestPaths(dag, source, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #findShortestPaths(GraphStore, int, Metrics)}.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled before the distances are complete
+     */
+    public int[] findShortestPaths(GraphStore dag, int source, Metrics metrics, CancellationToken token) {
         Objects.requireNonNull(dag, "Graph cannot be null");
-        
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
         int n = dag.getN();
         if (source < 0 || source >= n) {
             throw new IllegalArgumentException("Source vertex out of bounds: " + source);
         }
 
-        List<List<int[]>> adj = buildAdjacency(dag, n);
+        if (parallel) {
+            LevelResult levels = new KahnTopologicalSort().topologicalLevels(dag, null, metrics, token);
+            if (!levels.hasCycle()) return pathsByLevels(dag, levels, source, false, metrics, token);
+        }
+        return findShortestPathsSequential(dag, source, metrics, token);
+    }
+
+    /**
+     * Level-parallel variant over a level decomposition the caller already
+     * holds, so the ordering is not computed (or counted in {@code metrics})
+     * again. Falls back to the sequential DP if {@code levels} reports a cycle.
+     *
+     * @param levels level decomposition of {@code dag}
+     */
+    int[] findShortestPaths(GraphStore dag, LevelResult levels, int source, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(levels, "Levels cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
+        int n = dag.getN();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source vertex out of bounds: " + source);
+        }
+        if (!levels.hasCycle()) return pathsByLevels(dag, levels, source, false, metrics, token);
+        return findShortestPathsSequential(dag, source, metrics, token);
+    }
+
+    private int[] findShortestPathsSequential(GraphStore dag, int source, Metrics metrics, CancellationToken token) {
+        int n = dag.getN();
+
+        CsrAdjacency adj = CsrAdjacency.of(dag);
         int[] dist = new int[n];
         for (int i = 0; i < n; i++) dist[i] = INF;
         dist[source] = 0;
@@ -36,20 +101,25 @@ public class DAGShortestPath {
         if (metrics != null) metrics.startTimer();
 
         KahnTopologicalSort sorter = new KahnTopologicalSort();
-        TopoResult topoResult = sorter.topologicalSort(dag, metrics);
+        TopoResult topoResult = sorter.topologicalSort(dag, metrics, token);
         List<Integer> topoOrder = topoResult.getOrder();
 
+        int relaxations = 0;
+        int processed = 0;
         for (int u : topoOrder) {
+            if ((processed & CancellationToken.CHECK_MASK) == 0 && processed > 0) token.checkpoint("SHORTEST_PATHS", processed, n);
+            processed++;
             if (dist[u] == INF) continue;
-            for (int[] edge : adj.get(u)) {
-                int v = edge[0];
-                int w = edge[1];
+            for (int e = adj.offsets[u]; e < adj.offsets[u + 1]; e++) {
+                int v = adj.targets[e];
+                int w = adj.weights[e];
                 if (dist[u] + w < dist[v]) {
                     dist[v] = dist[u] + w;
-                    if (metrics != null) metrics.incrementCounter(Metrics.EDGE_RELAXATIONS);
+                    relaxations++;
                 }
             }
         }
+        if (metrics != null && relaxations > 0) metrics.incrementCounter(Metrics.EDGE_RELAXATIONS, relaxations);
 
         return dist;
     }
@@ -63,15 +133,58 @@ public class DAGShortestPath {
      * @return array where dist[i] is the longest path distance from source to i
      * @throws IllegalArgumentException if graph is null or source is out of bounds
      */
-    public int[] findLongestPaths(Graph dag, int source, Metrics metrics) {
+    public int[] findLongestPaths(GraphStore dag, int source, Metrics metrics) {
+        return findLongestPaths(dag, source, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #findLongestPaths(GraphStore, int, Metrics)}.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled before the distances are complete
+     */
+    public int[] findLongestPaths(GraphStore dag, int source, Metrics metrics, CancellationToken token) {
         Objects.requireNonNull(dag, "Graph cannot be null");
-        
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
         int n = dag.getN();
         if (source < 0 || source >= n) {
             throw new IllegalArgumentException("Source vertex out of bounds: " + source);
         }
 
-        List<List<int[]>> adj = buildAdjacency(dag, n);
+        if (parallel) {
+            LevelResult levels = new KahnTopologicalSort().topologicalLevels(dag, null, metrics, token);
+            if (!levels.hasCycle()) return pathsByLevels(dag, levels, source, true, metrics, token);
+        }
+        return findLongestPathsSequential(dag, source, metrics, token);
+    }
+
+    /**
+     * Level-parallel variant over a level decomposition the caller already
+     * holds, so the ordering is not computed (or counted in {@code metrics})
+     * again. Falls back to the sequential DP if {@code levels} reports a cycle.
+     *
+     * @param levels level decomposition of {@code dag}
+     */
+    int[] findLongestPaths(GraphStore dag, LevelResult levels, int source, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(levels, "Levels cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
+        int n = dag.getN();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source vertex out of bounds: " + source);
+        }
+        if (!levels.hasCycle()) return pathsByLevels(dag, levels, source, true, metrics, token);
+        return findLongestPathsSequential(dag, source, metrics, token);
+    }
+
+    private int[] findLongestPathsSequential(GraphStore dag, int source, Metrics metrics, CancellationToken token) {
+        int n = dag.getN();
+
+        CsrAdjacency adj = CsrAdjacency.of(dag);
         int[] dist = new int[n];
         for (int i = 0; i < n; i++) dist[i] = -INF;
         dist[source] = 0;
@@ -79,37 +192,65 @@ public class DAGShortestPath {
         if (metrics != null) metrics.startTimer();
 
         KahnTopologicalSort sorter = new KahnTopologicalSort();
-        TopoResult topoResult = sorter.topologicalSort(dag, metrics);
+        TopoResult topoResult = sorter.topologicalSort(dag, metrics, token);
         List<Integer> topoOrder = topoResult.getOrder();
 
+        int relaxations = 0;
+        int processed = 0;
         for (int u : topoOrder) {
+            if ((processed & CancellationToken.CHECK_MASK) == 0 && processed > 0) token.checkpoint("LONGEST_PATHS", processed, n);
+            processed++;
             if (dist[u] == -INF) continue;
-            for (int[] edge : adj.get(u)) {
-                int v = edge[0];
-                int w = edge[1];
+            for (int e = adj.offsets[u]; e < adj.offsets[u + 1]; e++) {
+                int v = adj.targets[e];
+                int w = adj.weights[e];
                 if (dist[u] + w > dist[v]) {
                     dist[v] = dist[u] + w;
-                    if (metrics != null) metrics.incrementCounter(Metrics.EDGE_RELAXATIONS);
+                    relaxations++;
                 }
             }
         }
+        if (metrics != null && relaxations > 0) metrics.incrementCounter(Metrics.EDGE_RELAXATIONS, relaxations);
 
         return dist;
     }
 
     /**
-     * Builds adjacency list representation with edge weights.
+     * Pull-based DP over the levels of an acyclic graph.
      *
-     * @param dag the graph
-     * @param n   number of vertices
-     * @return adjacency list where each entry contains [destination, weight] pairs
+     * @param dag     the graph
+     * @param levels  level decomposition of {@code dag}; must be cycle-free
+     * @param source  the source vertex
+     * @param longest whether to maximize instead of minimize
+     * @param metrics optional metrics collector
+     * @param token   cancellation token, checked once per {@value CancellationToken#CHECK_INTERVAL} vertex ids
+     * @return distance array with {@code INF} (or {@code -INF}) for unreachable vertices
      */
-    private List<List<int[]>> buildAdjacency(Graph dag, int n) {
-        List<List<int[]>> adj = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-        for (Edge e : dag.getEdges()) {
-            adj.get(e.getSource()).add(new int[]{e.getDestination(), e.getWeight()});
-        }
-        return adj;
+    private int[] pathsByLevels(GraphStore dag, LevelResult levels, int source, boolean longest, Metrics metrics,
+                                CancellationToken token) {
+        CsrAdjacency reverse = CsrAdjacency.of(dag).reverse();
+        int unreachable = longest ? -INF : INF;
+        int[] dist = new int[dag.getN()];
+        Arrays.fill(dist, unreachable);
+        dist[source] = 0;
+        if (metrics != null) metrics.startTimer();
+        long relaxations = levels.sweep(0, v -> {
+            if ((v & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+            int best = dist[v];
+            int improved = 0;
+            for (int i = reverse.offsets[v]; i < reverse.offsets[v + 1]; i++) {
+                int du = dist[reverse.targets[i]];
+                if (du == unreachable) continue;
+                int candidate = du + reverse.weights[i];
+                if (longest ? candidate > best : candidate < best) {
+                    best = candidate;
+                    improved++;
+                }
+            }
+            dist[v] = best;
+            return improved;
+        });
+        if (metrics != null && relaxations > 0) metrics.incrementCounter(Metrics.EDGE_RELAXATIONS, (int) relaxations);
+        return dist;
     }
 }
@@ -1,6 +1,44 @@
 package graph;
 
+import java.util.SplittableRandom;
+
 public class DatasetGenerator {
+    private static final int SCALING_CLUSTER = 4;
+    private static final int SCALING_WINDOW = 64;
+
+    /**
+     * Random graph for scaling runs. Every fourth block of {@value #SCALING_CLUSTER}
+     * consecutive vertices is closed into a cycle, so about a quarter of the
+     * vertices sit in non-trivial SCCs. All other edges point forward: three in
+     * four land within {@value #SCALING_WINDOW} vertices ahead, the rest anywhere
+     * ahead. Same seed, same graph.
+     *
+     * @param n             number of vertices
+     * @param averageDegree forward edges per vertex
+     * @param seed          random seed
+     * @return the generated graph
+     */
+    public FrozenGraph generateScalingGraph(int n, int averageDegree, long seed) {
+        if (n < 1) throw new IllegalArgumentException("Number of vertices must be positive");
+        if (averageDegree < 0) throw new IllegalArgumentException("Average degree must be non-negative");
+        SplittableRandom random = new SplittableRandom(seed);
+        GraphBuilder builder = new GraphBuilder(n, true, "integer")
+                .expectedEdges((int) Math.min(Integer.MAX_VALUE - 8, (long) n * averageDegree + n / SCALING_CLUSTER));
+        for (int u = 0; u < n; u++) {
+            int block = u / SCALING_CLUSTER;
+            if (block % 4 == 0 && (u + 1) % SCALING_CLUSTER == 0) {
+                builder.addEdge(u, block * SCALING_CLUSTER, 1 + random.nextInt(10));
+            }
+            for (int k = 0; k < averageDegree; k++) {
+                int ahead = n - u - 1;
+                if (ahead == 0) break;
+                int step = k % 4 == 3 ? 1 + random.nextInt(ahead) : 1 + random.nextInt(Math.min(ahead, SCALING_WINDOW));
+                builder.addEdge(u, u + step, 1 + random.nextInt(10));
+            }
+        }
+        return builder.freeze();
+    }
+
     public Graph generateSmallGraph(int variant) {
         switch (variant) {
             case 1: {
@@ -0,0 +1,190 @@
+package graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Reads edges from a byte stream and appends them directly to an {@link OffHeapGraph}.
+ * No intermediate JSON document, line strings or {@link Edge} objects are created.
+ *
+ * <p>Each non-empty line is one edge in one of two formats, detected per line:
+ * <ul>
+ *   <li>plain text: {@code u v [w]} separated by spaces, tabs or commas</li>
+ *   <li>NDJSON: {@code {"u": 0, "v": 1, "w": 3}}</li>
+ * </ul>
+ * A missing weight defaults to 1. Lines starting with {@code #} are comments.
+ * NDJSON lines without {@code u}/{@code v} are treated as headers: they may carry
+ * {@code "n"} to declare isolated trailing vertices and are otherwise ignored.
+ * The vertex count is the largest id seen plus one unless a header declares more.
+ */
+public class EdgeStreamReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_WEIGHT = 1;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private long lineNumber;
+
+    private final int[] fields = new int[3];
+    private int fieldCount;
+    private int declaredN;
+    private int parsedValue;
+
+    /**
+     * Reads all edges until end of stream.
+     *
+     * @param in       the edge stream (not closed by this method)
+     * @param directed whether the edges are directed
+     * @return graph containing every edge read
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public OffHeapGraph read(InputStream in, boolean directed) {
+        Objects.requireNonNull(in, "Input stream cannot be null");
+        StageEvent event = StageEvent.begin(StageEvent.PARSE, null);
+        OffHeapGraph graph = new OffHeapGraph(0, directed, "integer");
+        lineLength = 0;
+        lineNumber = 0;
+        long bytes = 0;
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes += read;
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        processLine(graph);
+                    } else {
+                        appendToLine(b);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read edge stream", e);
+        }
+        processLine(graph);
+        event.describe(graph);
+        event.end(-1, bytes);
+        return graph;
+    }
+
+    private void appendToLine(byte b) {
+        if (lineLength == line.length) {
+            byte[] grown = new byte[line.length * 2];
+            System.arraycopy(line, 0, grown, 0, lineLength);
+            line = grown;
+        }
+        line[lineLength++] = b;
+    }
+
+    private void processLine(OffHeapGraph graph) {
+        lineNumber++;
+        int start = skipWhitespace(0);
+        if (start < lineLength && line[start] != '#') {
+            fieldCount = 0;
+            declaredN = -1;
+            if (line[start] == '{') {
+                parseJsonLine(start + 1);
+            } else {
+                parseTextLine(start);
+            }
+            addParsedEdge(graph);
+        }
+        lineLength = 0;
+    }
+
+    private void addParsedEdge(OffHeapGraph graph) {
+        if (fieldCount == 0) {
+            if (declaredN >= 0) graph.ensureVertexCount(declaredN);
+            return;
+        }
+        if (fieldCount < 2) throw malformed("expected at least u and v");
+        int u = fields[0];
+        int v = fields[1];
+        if (u < 0 || v < 0) throw malformed("vertices must be non-negative");
+        int w = fieldCount > 2 ? fields[2] : DEFAULT_WEIGHT;
+        graph.ensureVertexCount(Math.max(u, v) + 1);
+        graph.addEdge(u, v, w);
+    }
+
+    private void parseTextLine(int pos) {
+        while (pos < lineLength) {
+            pos = skipSeparators(pos);
+            if (pos >= lineLength) break;
+            if (fieldCount == fields.length) throw malformed("too many fields");
+            pos = parseInt(pos);
+            fields[fieldCount++] = parsedValue;
+        }
+    }
+
+    private void parseJsonLine(int pos) {
+        boolean seenU = false, seenV = false, seenW = false;
+        while (pos < lineLength) {
+            byte b = line[pos];
+            if (b != '"') {
+                pos++;
+                continue;
+            }
+            int keyStart = pos + 1;
+            int keyEnd = keyStart;
+            while (keyEnd < lineLength && line[keyEnd] != '"') keyEnd++;
+            pos = skipWhitespace(keyEnd + 1);
+            if (pos >= lineLength || line[pos] != ':') continue;
+            pos = skipWhitespace(pos + 1);
+            if (keyEnd - keyStart != 1) continue;
+            switch (line[keyStart]) {
+                case 'u': pos = parseInt(pos); fields[0] = parsedValue; seenU = true; break;
+                case 'v': pos = parseInt(pos); fields[1] = parsedValue; seenV = true; break;
+                case 'w': pos = parseInt(pos); fields[2] = parsedValue; seenW = true; break;
+                case 'n': pos = parseInt(pos); declaredN = parsedValue; break;
+                default: break;
+            }
+        }
+        if (seenU != seenV) throw malformed("expected both \"u\" and \"v\"");
+        if (seenU) {
+            fieldCount = seenW ? 3 : 2;
+        } else if (seenW) {
+            throw malformed("weight without endpoints");
+        }
+    }
+
+    private int parseInt(int pos) {
+        boolean negative = false;
+        if (pos < lineLength && line[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        int start = pos;
+        long value = 0;
+        while (pos < lineLength && line[pos] >= '0' && line[pos] <= '9') {
+            value = value * 10 + (line[pos] - '0');
+            if (value > Integer.MAX_VALUE) throw malformed("number out of range");
+            pos++;
+        }
+        if (pos == start) throw malformed("expected a number");
+        if (pos < lineLength && !isWhitespace(line[pos]) && line[pos] != ',' && line[pos] != '}') {
+            throw malformed("expected an integer");
+        }
+        parsedValue = (int) (negative ? -value : value);
+        return pos;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < lineLength && isWhitespace(line[pos])) pos++;
+        return pos;
+    }
+
+    private int skipSeparators(int pos) {
+        while (pos < lineLength && (isWhitespace(line[pos]) || line[pos] == ',')) pos++;
+        return pos;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private IllegalArgumentException malformed(String reason) {
+        return new IllegalArgumentException("Malformed edge at line " + lineNumber + ": " + reason);
+    }
+}
@@ -0,0 +1,107 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * Immutable graph produced by {@link GraphBuilder#freeze()}. Edges are kept in
+ * primitive columns that are never copied: indexed access through {@link GraphStore}
+ * and the {@link #getEdges()} view both read the columns directly.
+ * Undirected edges are stored once and exposed in both directions.
+ */
+public final class FrozenGraph implements GraphStore {
+    /**
+     * Most edges an undirected graph can store, so that both directions still
+     * fit the {@code int} edge count.
+     */
+    static final int MAX_UNDIRECTED_EDGES = Integer.MAX_VALUE / 2;
+
+    private final int n;
+    private final boolean directed;
+    private final String weightModel;
+    private final int source;
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final List<Edge> edgeView = new EdgeView();
+
+    FrozenGraph(int n, boolean directed, String weightModel, int source,
+                int[] sources, int[] destinations, int[] weights) {
+        if (!directed && sources.length > MAX_UNDIRECTED_EDGES) {
+            throw new IllegalArgumentException("Undirected graph cannot hold more than " + MAX_UNDIRECTED_EDGES + " edges");
+        }
+        this.n = n;
+        this.directed = directed;
+        this.weightModel = weightModel;
+        this.source = source;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return directed ? sources.length : sources.length * 2;
+    }
+
+    @Override
+    public int getEdgeSource(int i) {
+        return i < sources.length ? sources[i] : destinations[i - sources.length];
+    }
+
+    @Override
+    public int getEdgeDestination(int i) {
+        return i < sources.length ? destinations[i] : sources[i - sources.length];
+    }
+
+    @Override
+    public int getEdgeWeight(int i) {
+        return i < sources.length ? weights[i] : weights[i - sources.length];
+    }
+
+    /**
+     * @return read-only view over the edge columns; no list copy is made
+     */
+    public List<Edge> getEdges() {
+        return edgeView;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FrozenGraph{n=%d, edges=%d, directed=%s, weightModel='%s', source=%d}",
+                n, getEdgeCount(), directed, weightModel, source);
+    }
+
+    private final class EdgeView extends AbstractList<Edge> {
+        @Override
+        public Edge get(int index) {
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Edge index out of bounds: " + index);
+            return new Edge(getEdgeSource(index), getEdgeDestination(index), getEdgeWeight(index));
+        }
+
+        @Override
+        public int size() {
+            return getEdgeCount();
+        }
+    }
+}
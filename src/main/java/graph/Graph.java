@@ -6,7 +6,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class Graph {
+public class Graph implements GraphStore {
     private final int n;
     private final List<Edge> edges;
     private final boolean directed;
@@ -44,10 +44,45 @@ public class Graph {
         }
     }
 
+    @Override
     public int getN() {
         return n;
     }
 
+    @Override
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    @Override
+    public int getEdgeSource(int i) {
+        return edges.get(i).getSource();
+    }
+
+    @Override
+    public int getEdgeDestination(int i) {
+        return edges.get(i).getDestination();
+    }
+
+    @Override
+    public int getEdgeWeight(int i) {
+        return edges.get(i).getWeight();
+    }
+
+    /**
+     * Both directions of an undirected edge are real entries, added next to each
+     * other, so the stored half is every even index.
+     */
+    @Override
+    public int getStoredEdgeBound() {
+        return edges.size();
+    }
+
+    @Override
+    public boolean isStoredEdge(int i) {
+        return directed || (i & 1) == 0;
+    }
+
     public List<Edge> getEdges() {
         return Collections.unmodifiableList(new ArrayList<>(edges));
     }
@@ -66,14 +101,17 @@ public class Graph {
                 .collect(Collectors.toList());
     }
 
+    @Override
     public boolean isDirected() {
         return directed;
     }
 
+    @Override
     public String getWeightModel() {
         return weightModel;
     }
 
+    @Override
     public int getSource() {
         return source;
     }
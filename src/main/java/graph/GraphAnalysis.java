@@ -0,0 +1,452 @@
+package graph;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lazy, memoized analysis of one graph. Each stage is computed the first time it
+ * is requested, together with any stages it depends on, and is then cached:
+ *
+ * <pre>
+ * SCCs -- condensation --+-- levels --+-- topological order
+ *                        |            +-- critical path
+ *                        |            +-- shortest / longest paths
+ *                        +-- reachability index (also uses the SCC mapping)
+ *                        +-- reduced condensation (only on request)
+ * </pre>
+ *
+ * An optional {@link VertexReordering} relabels the graph before SCC detection.
+ * Every later stage works on component ids, so only the SCC result needs to be
+ * mapped back to the input ids.
+ *
+ * Asking only for the component count therefore runs SCC detection and nothing
+ * else. Every stage is memoized on its own: the first thread to request it
+ * computes it, concurrent requests for the same stage wait for that result,
+ * and requests for other, already computed stages are not held up. One
+ * instance can be shared between threads and each stage is computed at most
+ * once. With a {@link Metrics}
+ * collector every stage is recorded via {@link Metrics#beginStage(String)} under
+ * its {@link Stage} name. Every stage also emits a {@link StageEvent} for Java
+ * Flight Recorder, which costs next to nothing while no recording is running.
+ *
+ * <p>A {@link CancellationToken} bounds the work: every stage checks it before
+ * starting and inside its loops, except the topological order, which only copies
+ * the levels. A cancelled stage throws {@link AnalysisCancelledException} and
+ * stays uncomputed, so a later request computes it again from scratch. A request
+ * that finds a stage already being computed under another token waits for it
+ * only until its own token is cancelled or its deadline passes; the computation
+ * itself goes on for the requests still waiting.
+ */
+public class GraphAnalysis {
+
+    /**
+     * Stages of the analysis, in dependency order.
+     */
+    public enum Stage {
+        REORDERING, SCC, CONDENSATION, REDUCED_CONDENSATION, LEVELS, TOPOLOGICAL_ORDER,
+        CRITICAL_PATH, SHORTEST_PATHS, LONGEST_PATHS, REACHABILITY
+    }
+
+    private final GraphStore graph;
+    private final Metrics metrics;
+    private final SCCFinder sccFinder;
+    private final VertexReordering.Strategy reorderingStrategy;
+    private final CancellationToken token;
+
+    private final Memo<Working> working;
+    private final Memo<Components> components;
+    private final Memo<FrozenGraph> condensation;
+    private final Memo<FrozenGraph> reducedCondensation;
+    private final Memo<LevelResult> levels;
+    private final Memo<TopoResult> topoOrder;
+    private final Memo<CriticalPathResult> criticalPath;
+    private final Memo<int[]> shortestPaths;
+    private final Memo<int[]> longestPaths;
+    private final Memo<ReachabilityIndex> reachability;
+
+    /**
+     * @param graph   the graph to analyze
+     * @param metrics optional metrics collector shared by all stages
+     */
+    public GraphAnalysis(GraphStore graph, Metrics metrics) {
+        this(graph, metrics, null);
+    }
+
+    /**
+     * @param graph      the graph to analyze
+     * @param metrics    optional metrics collector shared by all stages
+     * @param reordering vertex relabeling applied before SCC detection, or {@code null}
+     *                   to work on the input ids; results always use the input ids
+     * @see VertexReordering
+     */
+    public GraphAnalysis(GraphStore graph, Metrics metrics, VertexReordering.Strategy reordering) {
+        this(graph, metrics, reordering, CancellationToken.NONE);
+    }
+
+    /**
+     * @param graph      the graph to analyze
+     * @param metrics    optional metrics collector shared by all stages
+     * @param reordering vertex relabeling applied before SCC detection, or {@code null}
+     * @param token      cancellation token applied to every stage
+     */
+    public GraphAnalysis(GraphStore graph, Metrics metrics, VertexReordering.Strategy reordering,
+                         CancellationToken token) {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.metrics = metrics;
+        this.sccFinder = new AdaptiveSCCFinder();
+        this.reorderingStrategy = reordering;
+        this.token = Objects.requireNonNull(token, "Token cannot be null");
+        this.working = new Memo<>();
+        this.components = new Memo<>();
+        this.condensation = new Memo<>();
+        this.reducedCondensation = new Memo<>();
+        this.levels = new Memo<>();
+        this.topoOrder = new Memo<>();
+        this.criticalPath = new Memo<>();
+        this.shortestPaths = new Memo<>();
+        this.longestPaths = new Memo<>();
+        this.reachability = new Memo<>();
+    }
+
+    /**
+     * View of {@code base} that shares its stages but computes missing ones
+     * under {@code token}.
+     */
+    private GraphAnalysis(GraphAnalysis base, CancellationToken token) {
+        this.graph = base.graph;
+        this.metrics = base.metrics;
+        this.sccFinder = base.sccFinder;
+        this.reorderingStrategy = base.reorderingStrategy;
+        this.token = token;
+        this.working = base.working;
+        this.components = base.components;
+        this.condensation = base.condensation;
+        this.reducedCondensation = base.reducedCondensation;
+        this.levels = base.levels;
+        this.topoOrder = base.topoOrder;
+        this.criticalPath = base.criticalPath;
+        this.shortestPaths = base.shortestPaths;
+        this.longestPaths = base.longestPaths;
+        this.reachability = base.reachability;
+    }
+
+    /**
+     * Runs {@code request} against a view of this analysis that computes missing
+     * stages under {@code token}, so one shared analysis can serve requests with
+     * their own deadlines. Stages computed through the view are shared with this
+     * analysis; nothing is locked while {@code request} runs.
+     *
+     * @param token   cancellation token for the stages computed by {@code request}
+     * @param request reads stages from this analysis
+     * @return the value returned by {@code request}
+     * @throws AnalysisCancelledException if the token is cancelled while a stage is computed
+     */
+    public <T> T withCancellation(CancellationToken token, Function<GraphAnalysis, T> request) {
+        Objects.requireNonNull(token, "Token cannot be null");
+        Objects.requireNonNull(request, "Request cannot be null");
+        return request.apply(new GraphAnalysis(this, token));
+    }
+
+    public GraphStore getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the graph the vertex-level stages run on: the input graph, or its
+     *         relabeled copy when a reordering strategy was given
+     */
+    private Working getWorking() {
+        return working.get(token, () -> {
+            if (reorderingStrategy == null) return new Working(graph, null);
+            token.throwIfCancelled();
+            return measure(Stage.REORDERING, () -> {
+                StageEvent event = StageEvent.begin(Stage.REORDERING.name(), graph);
+                VertexReordering reordering = VertexReordering.compute(graph, reorderingStrategy);
+                GraphStore relabeled = reordering.apply(graph);
+                event.end(-1, relabeled.getN());
+                return new Working(relabeled, reordering);
+            });
+        });
+    }
+
+    public SCCResult getSCCs() {
+        return getComponents().scc;
+    }
+
+    private Components getComponents() {
+        return components.get(token, () -> {
+            Working input = getWorking();
+            SCCResult workingScc = measure(Stage.SCC, () -> {
+                StageEvent event = StageEvent.begin(Stage.SCC.name(), input.graph);
+                SCCResult result = sccFinder.findSCCs(input.graph, metrics, token);
+                int count = result.getComponentCount();
+                event.end(count, count);
+                return result;
+            });
+            SCCResult scc = input.reordering == null ? workingScc : input.reordering.mapBack(workingScc);
+            if (metrics != null) metrics.addCounter(Metrics.SCC_COMPONENTS, scc.getComponentCount());
+            return new Components(workingScc, scc);
+        });
+    }
+
+    public FrozenGraph getCondensation() {
+        return condensation.get(token, () -> {
+            Components scc = getComponents();
+            GraphStore input = getWorking().graph;
+            token.throwIfCancelled();
+            return measure(Stage.CONDENSATION, () -> {
+                StageEvent event = StageEvent.begin(Stage.CONDENSATION.name(), input);
+                FrozenGraph result = CondensationBuilder.build(input, scc.working, metrics, token);
+                event.end(result.getN(), result.getEdgeCount());
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Transitive reduction costs O((V + E) * V / 64) on the condensation, far more
+     * than any other stage on large graphs, so no other stage depends on it.
+     *
+     * @return the condensation after transitive reduction
+     */
+    public FrozenGraph getReducedCondensation() {
+        return reducedCondensation.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            return measure(Stage.REDUCED_CONDENSATION, () -> {
+                StageEvent event = StageEvent.begin(Stage.REDUCED_CONDENSATION.name(), dag);
+                FrozenGraph result = new TransitiveReduction().reduce(dag, metrics, token);
+                event.end(-1, result.getEdgeCount());
+                return result;
+            });
+        });
+    }
+
+    public LevelResult getLevels() {
+        return levels.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            return measure(Stage.LEVELS, () -> {
+                StageEvent event = StageEvent.begin(Stage.LEVELS.name(), dag);
+                LevelResult result = new KahnTopologicalSort().topologicalLevels(dag, null, metrics, token);
+                event.end(-1, result.getLevelCount());
+                return result;
+            });
+        });
+    }
+
+    /**
+     * @return topological order of the condensation, taken from the level decomposition
+     */
+    public TopoResult getTopologicalOrder() {
+        return topoOrder.get(token, () -> {
+            LevelResult levelResult = getLevels();
+            return new TopoResult(levelResult.getOrder(), levelResult.hasCycle());
+        });
+    }
+
+    public CriticalPathResult getCriticalPath() {
+        return criticalPath.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            LevelResult levelResult = getLevels();
+            CriticalPathResult result = measure(Stage.CRITICAL_PATH, () -> {
+                StageEvent event = StageEvent.begin(Stage.CRITICAL_PATH.name(), dag);
+                CriticalPathResult path = new CriticalPathFinder(true).findCriticalPath(dag, levelResult, metrics, token);
+                event.end(-1, path.getPath().size());
+                return path;
+            });
+            if (metrics != null) metrics.addCounter(Metrics.CRITICAL_PATH_LENGTH, result.getTotalWeight());
+            return result;
+        });
+    }
+
+    /**
+     * @return shortest distances over the condensation from its source vertex;
+     *         unreachable entries hold {@code Integer.MAX_VALUE / 2}
+     */
+    public int[] getShortestPaths() {
+        return shortestPaths.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            LevelResult levelResult = getLevels();
+            token.throwIfCancelled();
+            return measure(Stage.SHORTEST_PATHS, () -> {
+                StageEvent event = StageEvent.begin(Stage.SHORTEST_PATHS.name(), dag);
+                int[] result = new DAGShortestPath(true).findShortestPaths(dag, levelResult, dag.getSource(), metrics, token);
+                event.end(-1, result.length);
+                return result;
+            });
+        }).clone();
+    }
+
+    /**
+     * @return longest distances over the condensation from its source vertex;
+     *         unreachable entries hold {@code -(Integer.MAX_VALUE / 2)}
+     */
+    public int[] getLongestPaths() {
+        return longestPaths.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            LevelResult levelResult = getLevels();
+            token.throwIfCancelled();
+            return measure(Stage.LONGEST_PATHS, () -> {
+                StageEvent event = StageEvent.begin(Stage.LONGEST_PATHS.name(), dag);
+                int[] result = new DAGShortestPath(true).findLongestPaths(dag, levelResult, dag.getSource(), metrics, token);
+                event.end(-1, result.length);
+                return result;
+            });
+        }).clone();
+    }
+
+    public ReachabilityIndex getReachability() {
+        return reachability.get(token, () -> {
+            FrozenGraph dag = getCondensation();
+            int[] componentOf = getSCCs().getComponentOf();
+            token.throwIfCancelled();
+            return measure(Stage.REACHABILITY, () -> {
+                StageEvent event = StageEvent.begin(Stage.REACHABILITY.name(), dag);
+                ReachabilityIndex result = ReachabilityIndex.build(dag, componentOf, token);
+                event.end(-1, componentOf.length);
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Runs one stage's computation inside a resource measurement when metrics are
+     * collected. Callers resolve the stages it depends on first, so their cost is
+     * not counted again.
+     */
+    private <T> T measure(Stage stage, Supplier<T> computation) {
+        if (metrics == null) return computation.get();
+        Metrics.Stage measurement = metrics.beginStage(stage.name());
+        try {
+            return computation.get();
+        } finally {
+            measurement.close();
+        }
+    }
+
+    /**
+     * @return true if the stage's result has already been computed
+     */
+    public boolean isComputed(Stage stage) {
+        switch (stage) {
+            case REORDERING: return working.isDone() && working.peek().reordering != null;
+            case SCC: return components.isDone();
+            case CONDENSATION: return condensation.isDone();
+            case REDUCED_CONDENSATION: return reducedCondensation.isDone();
+            case LEVELS: return levels.isDone();
+            case TOPOLOGICAL_ORDER: return topoOrder.isDone();
+            case CRITICAL_PATH: return criticalPath.isDone();
+            case SHORTEST_PATHS: return shortestPaths.isDone();
+            case LONGEST_PATHS: return longestPaths.isDone();
+            case REACHABILITY: return reachability.isDone();
+            default: throw new IllegalArgumentException("Unknown stage: " + stage);
+        }
+    }
+
+    /**
+     * The graph the vertex-level stages run on and the relabeling that produced it.
+     */
+    private static final class Working {
+        final GraphStore graph;
+        final VertexReordering reordering;
+
+        Working(GraphStore graph, VertexReordering reordering) {
+            this.graph = graph;
+            this.reordering = reordering;
+        }
+    }
+
+    /**
+     * SCCs on the working graph, which later stages use, and mapped back to input ids.
+     */
+    private static final class Components {
+        final SCCResult working;
+        final SCCResult scc;
+
+        Components(SCCResult working, SCCResult scc) {
+            this.working = working;
+            this.scc = scc;
+        }
+    }
+
+    /**
+     * Memoized result of one stage. The first caller computes it; concurrent
+     * callers wait for that computation instead of starting their own, but never
+     * past their own token's deadline. A failed computation is forgotten, so a
+     * cancelled stage stays uncomputed: callers that were waiting on it try again
+     * themselves, and other failures are rethrown to them.
+     */
+    private static final class Memo<T> {
+        /** Longest wait between two checks of a waiting caller's token. */
+        private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+        private final AtomicReference<CompletableFuture<T>> cell = new AtomicReference<>();
+
+        T get(CancellationToken token, Supplier<T> compute) {
+            while (true) {
+                CompletableFuture<T> pending = cell.get();
+                if (pending == null) {
+                    CompletableFuture<T> mine = new CompletableFuture<>();
+                    if (!cell.compareAndSet(null, mine)) continue;
+                    try {
+                        T value = compute.get();
+                        mine.complete(value);
+                        return value;
+                    } catch (Throwable t) {
+                        cell.compareAndSet(mine, null);
+                        mine.completeExceptionally(t);
+                        throw t;
+                    }
+                }
+                try {
+                    return await(pending, token);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof AnalysisCancelledException) continue;
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+
+        /**
+         * Waits for another caller's computation in slices of at most
+         * {@link #WAIT_SLICE_NANOS}, checking {@code token} between them. A stage
+         * that is already computed is returned whatever the token's state.
+         */
+        private static <T> T await(CompletableFuture<T> pending, CancellationToken token) throws ExecutionException {
+            try {
+                if (pending.isDone() || token == CancellationToken.NONE) return pending.get();
+                while (true) {
+                    token.throwIfCancelled();
+                    try {
+                        return pending.get(Math.min(token.remainingNanos(), WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException e) {
+                        // check the token again
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AnalysisCancelledException("Interrupted while waiting for a stage");
+            }
+        }
+
+        boolean isDone() {
+            CompletableFuture<T> pending = cell.get();
+            return pending != null && pending.isDone() && !pending.isCompletedExceptionally();
+        }
+
+        /**
+         * @return the value of a computed stage; only valid after {@link #isDone()}
+         */
+        T peek() {
+            return cell.get().join();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Accumulates edges in primitive arrays and produces an immutable {@link FrozenGraph}.
+ * Unlike {@link Graph#addEdge(int, int, int)}, no {@link Edge} object is allocated per edge,
+ * and the bulk {@link #addEdges(int[], int[], int[])} call validates and copies whole
+ * arrays at once.
+ *
+ * <pre>
+ * FrozenGraph g = new GraphBuilder(n, true, "integer")
+ *         .expectedEdges(m)
+ *         .addEdges(us, vs, ws)
+ *         .freeze();
+ * </pre>
+ */
+public class GraphBuilder {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int n;
+    private final boolean directed;
+    private final String weightModel;
+    private int source;
+
+    private int[] sources;
+    private int[] destinations;
+    private int[] weights;
+    private int size;
+    private boolean frozen;
+
+    public GraphBuilder(int n, boolean directed, String weightModel) {
+        if (n < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        Objects.requireNonNull(weightModel, "Weight model cannot be null");
+        this.n = n;
+        this.directed = directed;
+        this.weightModel = weightModel;
+        this.sources = new int[DEFAULT_CAPACITY];
+        this.destinations = new int[DEFAULT_CAPACITY];
+        this.weights = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Sets the source vertex used by single-source path queries.
+     */
+    public GraphBuilder source(int source) {
+        checkNotFrozen();
+        if (source < 0 || source >= n) throw new IllegalArgumentException("Source vertex out of bounds");
+        this.source = source;
+        return this;
+    }
+
+    /**
+     * Capacity hint: reserves room for {@code count} edges so that no
+     * intermediate growth copies happen while adding them.
+     */
+    public GraphBuilder expectedEdges(int count) {
+        checkNotFrozen();
+        if (count < 0) throw new IllegalArgumentException("Expected edge count must be non-negative");
+        ensureCapacity(count);
+        return this;
+    }
+
+    public GraphBuilder addEdge(int u, int v, int weight) {
+        checkNotFrozen();
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex out of bounds");
+        }
+        ensureCapacity(size + 1);
+        sources[size] = u;
+        destinations[size] = v;
+        weights[size] = weight;
+        size++;
+        return this;
+    }
+
+    /**
+     * Adds {@code u.length} edges {@code u[i] -> v[i]} with weight {@code w[i]}.
+     * All vertices are validated before any edge is added.
+     *
+     * @param w edge weights, or {@code null} to give every edge weight 1
+     * @throws IllegalArgumentException if the arrays differ in length or a vertex is out of bounds
+     */
+    public GraphBuilder addEdges(int[] u, int[] v, int[] w) {
+        checkNotFrozen();
+        Objects.requireNonNull(u, "Source array cannot be null");
+        Objects.requireNonNull(v, "Destination array cannot be null");
+        int count = u.length;
+        if (v.length != count || (w != null && w.length != count)) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        for (int i = 0; i < count; i++) {
+            if (u[i] < 0 || u[i] >= n || v[i] < 0 || v[i] >= n) {
+                throw new IllegalArgumentException("Vertex out of bounds at index " + i);
+            }
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(u, 0, sources, size, count);
+        System.arraycopy(v, 0, destinations, size, count);
+        if (w != null) {
+            System.arraycopy(w, 0, weights, size, count);
+        } else {
+            Arrays.fill(weights, size, size + count, 1);
+        }
+        size += count;
+        return this;
+    }
+
+    public int getEdgeCount() {
+        return size;
+    }
+
+    /**
+     * Produces the immutable graph. The builder hands its arrays over and
+     * cannot be used afterwards.
+     */
+    public FrozenGraph freeze() {
+        checkNotFrozen();
+        frozen = true;
+        if (sources.length != size) {
+            sources = Arrays.copyOf(sources, size);
+            destinations = Arrays.copyOf(destinations, size);
+            weights = Arrays.copyOf(weights, size);
+        }
+        FrozenGraph graph = new FrozenGraph(n, directed, weightModel, source, sources, destinations, weights);
+        sources = destinations = weights = null;
+        return graph;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required < 0) throw new IllegalStateException("Edge capacity exceeded");
+        if (!directed && required > FrozenGraph.MAX_UNDIRECTED_EDGES) {
+            throw new IllegalStateException("Undirected graph cannot hold more than "
+                    + FrozenGraph.MAX_UNDIRECTED_EDGES + " edges");
+        }
+        if (required <= sources.length) return;
+        int capacity = Math.max(required, sources.length + (sources.length >> 1));
+        if (capacity < 0) capacity = Integer.MAX_VALUE - 8;
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) throw new IllegalStateException("Builder has already been frozen");
+    }
+}
@@ -0,0 +1,204 @@
+package graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens graph files and result streams with transparent gzip support. Input is
+ * treated as gzip when the file name ends in {@value #GZIP_SUFFIX} or the stream
+ * starts with the gzip magic bytes. A compressed stream from
+ * {@link #decompressing(InputStream)} is inflated on a background thread that hands
+ * full blocks to the reader through a small bounded queue, so inflating overlaps
+ * with a reader that parses as it goes, such as the edge-list reader on stdin.
+ * Whole files from {@link #open(String)} and {@link #readAllBytes(String)} are
+ * inflated on the calling thread: the JSON parser only starts once every byte is
+ * read, so a second thread would have nothing to overlap with. No temp file is
+ * needed either way. Output paths ending in {@value #GZIP_SUFFIX} are written
+ * compressed.
+ */
+public final class GraphIO {
+    static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int QUEUED_BLOCKS = 4;
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private GraphIO() {
+    }
+
+    /**
+     * @param filePath graph file, plain or gzip-compressed
+     * @return decompressed stream over the file contents, inflated on the calling
+     *         thread; the caller closes it
+     */
+    public static InputStream open(String filePath) throws IOException {
+        Objects.requireNonNull(filePath, "File path cannot be null");
+        Path path = Paths.get(filePath);
+        InputStream in = Files.newInputStream(path);
+        try {
+            return filePath.endsWith(GZIP_SUFFIX) ? new GZIPInputStream(in, BUFFER_SIZE) : decompressing(in, false);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a whole graph file, decompressing it if needed.
+     *
+     * @param filePath graph file, plain or gzip-compressed
+     * @return the uncompressed contents
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static byte[] readAllBytes(String filePath) {
+        try (InputStream in = open(filePath)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Wraps a stream that may or may not be gzip-compressed, e.g. {@code System.in}.
+     * Closing the returned stream closes {@code in}.
+     *
+     * @param in raw stream
+     * @return {@code in} itself (buffered) or a stream inflated on a background
+     *         thread, by magic bytes
+     */
+    public static InputStream decompressing(InputStream in) throws IOException {
+        Objects.requireNonNull(in, "Input stream cannot be null");
+        return decompressing(in, true);
+    }
+
+    private static InputStream decompressing(InputStream in, boolean background) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean gzip = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8);
+        if (!gzip) return buffered;
+        GZIPInputStream inflater = new GZIPInputStream(buffered, BUFFER_SIZE);
+        return background ? new BackgroundInputStream(inflater) : inflater;
+    }
+
+    /**
+     * @param filePath result file; compressed if it ends in {@value #GZIP_SUFFIX}
+     * @return buffered output stream; the caller closes it, which finishes the gzip trailer
+     */
+    public static OutputStream create(String filePath) throws IOException {
+        Objects.requireNonNull(filePath, "File path cannot be null");
+        OutputStream out = Files.newOutputStream(Paths.get(filePath));
+        if (!filePath.endsWith(GZIP_SUFFIX)) return new BufferedOutputStream(out, BUFFER_SIZE);
+        try {
+            return new BufferedOutputStream(new GZIPOutputStream(out, BUFFER_SIZE), BUFFER_SIZE);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Drains a source stream on a daemon thread. Blocks travel through a bounded
+     * queue, so the producer runs at most {@value #QUEUED_BLOCKS} blocks ahead.
+     */
+    private static final class BackgroundInputStream extends InputStream {
+        private final InputStream source;
+        private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(QUEUED_BLOCKS);
+        private final Thread producer;
+        private volatile IOException failure;
+        private byte[] block = new byte[0];
+        private int position;
+        private boolean finished;
+
+        BackgroundInputStream(InputStream source) {
+            this.source = source;
+            this.producer = new Thread(this::produce, "graph-io-inflater");
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        /** Owns {@code source}: it is only read and closed on the producer thread. */
+        private void produce() {
+            try (InputStream in = source) {
+                while (true) {
+                    byte[] chunk = in.readNBytes(BUFFER_SIZE);
+                    if (chunk.length == 0) break;
+                    blocks.put(chunk);
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                blocks.put(END_OF_STREAM);
+            } catch (InterruptedException ignored) {
+                // closed by the reader
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (finished) return false;
+            while (position == block.length) {
+                try {
+                    block = blocks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for decompressed data");
+                }
+                position = 0;
+                if (block == END_OF_STREAM) {
+                    finished = true;
+                    if (failure != null) throw failure;
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? block[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) return 0;
+            if (!fill()) return -1;
+            int count = Math.min(len, block.length - position);
+            System.arraycopy(block, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return block.length - position;
+        }
+
+        /**
+         * Stops the producer; it closes the source once its current read returns.
+         */
+        @Override
+        public void close() {
+            finished = true;
+            producer.interrupt();
+            blocks.clear();
+        }
+    }
+}
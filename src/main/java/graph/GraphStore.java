@@ -0,0 +1,70 @@
+package graph;
+
+/**
+ * Read-only, index-based view of a weighted graph's edge list.
+ * Algorithms consume graphs through this interface so that edges can live in
+ * {@link Edge} objects ({@link Graph}) or in packed primitive columns
+ * ({@link OffHeapGraph}) without changing the analysis code.
+ *
+ * <p>For undirected graphs the view exposes both directions of every edge,
+ * matching the behavior of {@link Graph#addEdge(int, int, int)}.
+ */
+public interface GraphStore {
+
+    /**
+     * @return number of vertices
+     */
+    int getN();
+
+    /**
+     * @return number of directed edges visible through this view
+     */
+    int getEdgeCount();
+
+    /**
+     * @param i edge index in {@code [0, getEdgeCount())}
+     * @return source vertex of the edge
+     */
+    int getEdgeSource(int i);
+
+    /**
+     * @param i edge index in {@code [0, getEdgeCount())}
+     * @return destination vertex of the edge
+     */
+    int getEdgeDestination(int i);
+
+    /**
+     * @param i edge index in {@code [0, getEdgeCount())}
+     * @return weight of the edge
+     */
+    int getEdgeWeight(int i);
+
+    boolean isDirected();
+
+    /**
+     * Every stored edge has an index below this bound. The default matches stores
+     * that keep undirected edges once and expose the reverse direction after them.
+     *
+     * @return exclusive upper bound on the indices of stored edges
+     */
+    default int getStoredEdgeBound() {
+        return isDirected() ? getEdgeCount() : getEdgeCount() / 2;
+    }
+
+    /**
+     * Undirected views expose every edge in both directions, and exactly one of the
+     * two indices is the stored one. Scanning {@code [0, getStoredEdgeBound())} and
+     * keeping the stored indices visits each edge once, self-loops included. In a
+     * directed view every edge is stored.
+     *
+     * @param i edge index in {@code [0, getEdgeCount())}
+     * @return whether edge {@code i} is the stored direction of its edge
+     */
+    default boolean isStoredEdge(int i) {
+        return isDirected() || i < getEdgeCount() / 2;
+    }
+
+    String getWeightModel();
+
+    int getSource();
+}
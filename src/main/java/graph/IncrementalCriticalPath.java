@@ -0,0 +1,396 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Critical path of a DAG that stays current under edits. Weight changes, edge
+ * insertions and edge removals only repropagate longest-path distances through
+ * the downstream cone of the edited edge: affected vertices are recomputed in
+ * topological order from an {@link IndexedIntHeap} keyed by their position,
+ * each pulling the best distance from its predecessors, and propagation stops
+ * wherever a distance comes out unchanged.
+ *
+ * <p>The topological order is maintained with the Pearce-Kelly algorithm: an
+ * inserted edge that points backwards in the order only reorders the vertices
+ * between its endpoints that are reachable from the head or reach the tail, and
+ * an edge that would close a cycle is rejected without changing anything.
+ *
+ * <p>Edges live in primitive arrays linked into per-vertex in and out lists and
+ * are addressed by id; the edges of the initial graph have the ids
+ * {@code 0..getEdgeCount()-1} in graph order. Distances have the same meaning as
+ * in {@link CriticalPathFinder}; among equally long paths a different one may be
+ * reported. Not thread-safe.
+ */
+public final class IncrementalCriticalPath {
+    private final int n;
+    private final Metrics metrics;
+
+    private int[] edgeSource;
+    private int[] edgeTarget;
+    private int[] edgeWeight;
+    private int[] nextOut;
+    private int[] nextIn;
+    private int edgeSlots;
+    private int freeEdge = -1;
+    private int edgeCount;
+    private final int[] headOut;
+    private final int[] headIn;
+
+    private final int[] position;
+    private final int[] vertexAt;
+    private final int[] dist;
+    private final int[] prev;
+    private int best = -1;
+    private boolean bestStale;
+
+    private final IndexedIntHeap pending;
+    private final int[] mark;
+    private int epoch;
+    private int[] stack = new int[16];
+
+    /**
+     * @param dag     the initial DAG; edges are read in their directed view
+     * @param metrics optional metrics collector for performance tracking
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public IncrementalCriticalPath(GraphStore dag, Metrics metrics) {
+        this(dag, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant; the initial ordering and DP check {@code token} once
+     * every {@value CancellationToken#CHECK_INTERVAL} vertices, with progress up
+     * to {@code 2n}. Later edits are not cancellable: each touches only the
+     * affected region and is meant to be cheap.
+     *
+     * @param token cancellation and progress token for the initial computation
+     * @throws AnalysisCancelledException if the token is cancelled before the initial path is complete
+     */
+    public IncrementalCriticalPath(GraphStore dag, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        this.n = dag.getN();
+        this.metrics = metrics;
+        int m = dag.getEdgeCount();
+        int capacity = Math.max(16, m);
+        edgeSource = new int[capacity];
+        edgeTarget = new int[capacity];
+        edgeWeight = new int[capacity];
+        nextOut = new int[capacity];
+        nextIn = new int[capacity];
+        headOut = new int[n];
+        headIn = new int[n];
+        Arrays.fill(headOut, -1);
+        Arrays.fill(headIn, -1);
+        for (int i = 0; i < m; i++) link(dag.getEdgeSource(i), dag.getEdgeDestination(i), dag.getEdgeWeight(i));
+
+        position = new int[n];
+        vertexAt = new int[n];
+        dist = new int[n];
+        prev = new int[n];
+        pending = new IndexedIntHeap(n);
+        mark = new int[n];
+        initialize(token);
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * @return number of live edges
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return length of the longest path ending at {@code v}
+     */
+    public int getDistance(int v) {
+        checkVertex(v);
+        return dist[v];
+    }
+
+    /**
+     * @return position of {@code v} in the maintained topological order
+     */
+    public int getPosition(int v) {
+        checkVertex(v);
+        return position[v];
+    }
+
+    public int getTotalWeight() {
+        int end = endVertex();
+        return end < 0 ? 0 : Math.max(0, dist[end]);
+    }
+
+    /**
+     * @return the current critical path and its total weight
+     */
+    public CriticalPathResult getCriticalPath() {
+        List<Integer> path = new ArrayList<>();
+        for (int v = endVertex(); v != -1; v = prev[v]) path.add(v);
+        Collections.reverse(path);
+        return new CriticalPathResult(path, getTotalWeight());
+    }
+
+    /**
+     * @return id of some live edge {@code u -> v}, or -1 if there is none
+     */
+    public int findEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        for (int e = headOut[u]; e != -1; e = nextOut[e]) if (edgeTarget[e] == v) return e;
+        return -1;
+    }
+
+    public int getWeight(int edge) {
+        checkEdge(edge);
+        return edgeWeight[edge];
+    }
+
+    /**
+     * Changes the weight of an edge and repropagates from its target.
+     */
+    public void setWeight(int edge, int weight) {
+        checkEdge(edge);
+        if (edgeWeight[edge] == weight) return;
+        edgeWeight[edge] = weight;
+        propagate(edgeTarget[edge]);
+    }
+
+    /**
+     * Inserts an edge, reordering the affected vertices if it points backwards in
+     * the current topological order, and repropagates from its target.
+     *
+     * @return id of the new edge
+     * @throws IllegalArgumentException if the edge would create a cycle; the
+     *                                  graph is left unchanged
+     */
+    public int addEdge(int u, int v, int weight) {
+        checkVertex(u);
+        checkVertex(v);
+        if (position[v] <= position[u]) reorder(u, v);
+        int edge = link(u, v, weight);
+        propagate(v);
+        return edge;
+    }
+
+    /**
+     * Removes an edge and repropagates from its target. The topological order stays valid.
+     */
+    public void removeEdge(int edge) {
+        checkEdge(edge);
+        int u = edgeSource[edge];
+        int v = edgeTarget[edge];
+        headOut[u] = unlink(headOut[u], edge, nextOut);
+        headIn[v] = unlink(headIn[v], edge, nextIn);
+        edgeSource[edge] = -1;
+        nextOut[edge] = freeEdge;
+        freeEdge = edge;
+        edgeCount--;
+        propagate(v);
+    }
+
+    private void initialize(CancellationToken token) {
+        int[] indeg = new int[n];
+        for (int e = 0; e < edgeSlots; e++) indeg[edgeTarget[e]]++;
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) if (indeg[v] == 0) vertexAt[tail++] = v;
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0 && head > 0) token.checkpoint("CRITICAL_PATH", head, 2L * n);
+            int u = vertexAt[head];
+            position[u] = head++;
+            for (int e = headOut[u]; e != -1; e = nextOut[e]) {
+                if (--indeg[edgeTarget[e]] == 0) vertexAt[tail++] = edgeTarget[e];
+            }
+        }
+        if (tail < n) throw new IllegalArgumentException("Graph contains a cycle");
+        for (int i = 0; i < n; i++) {
+            if ((i & CancellationToken.CHECK_MASK) == 0) token.checkpoint("CRITICAL_PATH", n + i, 2L * n);
+            pull(vertexAt[i]);
+        }
+        bestStale = true;
+        if (metrics != null && n > 0) metrics.incrementCounter("icp_recomputed", n);
+    }
+
+    /**
+     * Recomputes the affected vertices in topological order, starting at {@code start}.
+     */
+    private void propagate(int start) {
+        pending.insertOrUpdate(start, position[start]);
+        int recomputed = 0;
+        while (!pending.isEmpty()) {
+            int x = pending.poll();
+            recomputed++;
+            int old = dist[x];
+            pull(x);
+            if (dist[x] == old) continue;
+            if (!bestStale) {
+                if (dist[x] > dist[best] || (dist[x] == dist[best] && x < best)) best = x;
+                else if (x == best) bestStale = true;
+            }
+            for (int e = headOut[x]; e != -1; e = nextOut[e]) {
+                pending.insertOrUpdate(edgeTarget[e], position[edgeTarget[e]]);
+            }
+        }
+        if (metrics != null) metrics.incrementCounter("icp_recomputed", recomputed);
+    }
+
+    /**
+     * Sets {@code dist[v]} and {@code prev[v]} from the predecessors of {@code v};
+     * ties go to the predecessor earliest in topological order.
+     */
+    private void pull(int v) {
+        int bestDist = 0;
+        int bestU = -1;
+        for (int e = headIn[v]; e != -1; e = nextIn[e]) {
+            int u = edgeSource[e];
+            int candidate = dist[u] + edgeWeight[e];
+            if (bestU == -1 || candidate > bestDist || (candidate == bestDist && position[u] < position[bestU])) {
+                bestDist = candidate;
+                bestU = u;
+            }
+        }
+        dist[v] = bestDist;
+        prev[v] = bestU;
+    }
+
+    private int endVertex() {
+        if (bestStale) {
+            best = -1;
+            for (int v = 0; v < n; v++) if (best == -1 || dist[v] > dist[best]) best = v;
+            bestStale = false;
+        }
+        return best;
+    }
+
+    /**
+     * Pearce-Kelly reordering for a new edge {@code u -> v} with
+     * {@code position[v] <= position[u]}. Collects the vertices reachable from
+     * {@code v} and those reaching {@code u} inside the affected window, then
+     * hands their positions out again with the second group first.
+     */
+    private void reorder(int u, int v) {
+        if (u == v) throw new IllegalArgumentException("Edge " + u + " -> " + v + " would create a cycle");
+        int lower = position[v];
+        int upper = position[u];
+        epoch += 2;
+        int[] forward = collect(v, true, epoch, lower, upper, u);
+        int[] backward = collect(u, false, epoch + 1, lower, upper, -1);
+        int backwardCount = backward.length;
+        int forwardCount = forward.length;
+
+        sortByPosition(backward);
+        sortByPosition(forward);
+        int[] slots = new int[backwardCount + forwardCount];
+        for (int i = 0; i < backwardCount; i++) slots[i] = position[backward[i]];
+        for (int i = 0; i < forwardCount; i++) slots[backwardCount + i] = position[forward[i]];
+        Arrays.sort(slots);
+        for (int i = 0; i < backwardCount; i++) place(backward[i], slots[i]);
+        for (int i = 0; i < forwardCount; i++) place(forward[i], slots[backwardCount + i]);
+        if (metrics != null) metrics.incrementCounter("icp_reordered", slots.length);
+    }
+
+    /**
+     * Depth-first search restricted to positions strictly inside {@code (lower, upper)}
+     * plus the start vertex.
+     *
+     * @param forward follow out-edges if true, in-edges otherwise
+     * @param cycle   vertex whose discovery means the new edge closes a cycle, or -1
+     * @return the vertices found
+     */
+    private int[] collect(int start, boolean forward, int markValue, int lower, int upper, int cycle) {
+        int[] found = new int[16];
+        int count = 0;
+        int top = 0;
+        push(top++, start);
+        mark[start] = markValue;
+        while (top > 0) {
+            int x = stack[--top];
+            if (count == found.length) found = Arrays.copyOf(found, count * 2);
+            found[count++] = x;
+            for (int e = forward ? headOut[x] : headIn[x]; e != -1; e = forward ? nextOut[e] : nextIn[e]) {
+                int y = forward ? edgeTarget[e] : edgeSource[e];
+                if (y == cycle) {
+                    throw new IllegalArgumentException("Edge " + cycle + " -> " + start + " would create a cycle");
+                }
+                if (mark[y] != markValue && position[y] > lower && position[y] < upper) {
+                    mark[y] = markValue;
+                    push(top++, y);
+                }
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private void place(int v, int slot) {
+        position[v] = slot;
+        vertexAt[slot] = v;
+    }
+
+    private void sortByPosition(int[] vertices) {
+        long[] keys = new long[vertices.length];
+        for (int i = 0; i < vertices.length; i++) keys[i] = ((long) position[vertices[i]] << 32) | vertices[i];
+        Arrays.sort(keys);
+        for (int i = 0; i < vertices.length; i++) vertices[i] = (int) keys[i];
+    }
+
+    private void push(int index, int v) {
+        if (index == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[index] = v;
+    }
+
+    private int link(int u, int v, int weight) {
+        int edge;
+        if (freeEdge != -1) {
+            edge = freeEdge;
+            freeEdge = nextOut[edge];
+        } else {
+            if (edgeSlots == edgeSource.length) grow();
+            edge = edgeSlots++;
+        }
+        edgeSource[edge] = u;
+        edgeTarget[edge] = v;
+        edgeWeight[edge] = weight;
+        nextOut[edge] = headOut[u];
+        headOut[u] = edge;
+        nextIn[edge] = headIn[v];
+        headIn[v] = edge;
+        edgeCount++;
+        return edge;
+    }
+
+    private static int unlink(int head, int edge, int[] next) {
+        if (head == edge) return next[edge];
+        int e = head;
+        while (next[e] != edge) e = next[e];
+        next[e] = next[edge];
+        return head;
+    }
+
+    private void grow() {
+        int capacity = edgeSource.length * 2;
+        edgeSource = Arrays.copyOf(edgeSource, capacity);
+        edgeTarget = Arrays.copyOf(edgeTarget, capacity);
+        edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+        nextOut = Arrays.copyOf(nextOut, capacity);
+        nextIn = Arrays.copyOf(nextIn, capacity);
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("Vertex out of bounds");
+    }
+
+    private void checkEdge(int edge) {
+        if (edge < 0 || edge >= edgeSlots || edgeSource[edge] == -1) {
+            throw new IllegalArgumentException("Unknown edge: " + edge);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min-heap of integer ids in {@code [0, capacity)} with {@code long} keys,
+ * backed by primitive arrays. Ties on the key are broken by the smaller id, so
+ * the poll order is fully deterministic. Supports changing the key of an element
+ * in place in O(log n).
+ */
+public final class IndexedIntHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size;
+
+    public IndexedIntHeap(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity must be non-negative");
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    public long keyOf(int id) {
+        if (!contains(id)) throw new NoSuchElementException("Id not in heap: " + id);
+        return keys[id];
+    }
+
+    /**
+     * Inserts {@code id} with the given key, or changes its key if already present.
+     */
+    public void insertOrUpdate(int id, long key) {
+        if (id < 0 || id >= position.length) throw new IllegalArgumentException("Id out of range: " + id);
+        if (position[id] >= 0) {
+            long old = keys[id];
+            keys[id] = key;
+            if (key < old) siftUp(position[id]);
+            else siftDown(position[id]);
+            return;
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * @return id with the smallest key (smallest id among equal keys)
+     */
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("Heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key.
+     */
+    public int poll() {
+        int top = peek();
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private boolean less(int a, int b) {
+        long ka = keys[a], kb = keys[b];
+        return ka < kb || (ka == kb && a < b);
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int pid = heap[parent];
+            if (!less(id, pid)) break;
+            heap[i] = pid;
+            position[pid] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && less(heap[right], heap[child])) child = right;
+            if (!less(heap[child], id)) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
@@ -1,14 +1,17 @@
 package graph;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 public class JSONParser {
+    /** Documents smaller than this are parsed on the calling thread. */
+    static final int PARALLEL_MIN_BYTES = 1 << 20;
+    private static final int MIN_CHUNK_BYTES = 1 << 18;
+    private static final byte[] EDGES_KEY = "\"edges\"".getBytes(StandardCharsets.US_ASCII);
     private static final Pattern N_PATTERN = Pattern.compile("\"n\"\\s*:\\s*(\\d+)");
     private static final Pattern SOURCE_PATTERN = Pattern.compile("\"source\"\\s*:\\s*(\\d+)");
     private static final Pattern DIRECTED_PATTERN = Pattern.compile("\"directed\"\\s*:\\s*(true|false)");
@@ -21,9 +24,19 @@ public class JSONParser {
 
     public Graph parseTasksJSON(String filePath) {
         Objects.requireNonNull(filePath, "File path cannot be null");
-        
-        String json = readFile(filePath);
-        
+        return parseJSON(readFile(filePath));
+    }
+
+    /**
+     * Parses a graph from an in-memory JSON document in the same format as the dataset files.
+     *
+     * @param json the JSON document
+     * @return the parsed graph
+     */
+    public Graph parseJSON(String json) {
+        Objects.requireNonNull(json, "JSON cannot be null");
+        StageEvent event = StageEvent.begin(StageEvent.PARSE, null);
+
         int n = extractVertexCount(json);
         boolean directed = extractDirected(json);
         String weightModel = extractWeightModel(json);
@@ -31,16 +44,350 @@ public class JSONParser {
         
         Graph graph = new Graph(n, directed, weightModel, source);
         addEdgesToGraph(graph, json);
+        event.describe(graph);
+        event.end(-1, json.length());
         
         return graph;
     }
 
-    private String readFile(String filePath) {
-        try {
-            return Files.readString(Paths.get(filePath), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read file: " + filePath, e);
+    /**
+     * Reads a dataset file and parses it with {@link #parseGraph(byte[])}.
+     *
+     * @param filePath path to the JSON file, optionally gzip-compressed
+     * @return the parsed graph
+     */
+    public FrozenGraph parseGraphFile(String filePath) {
+        Objects.requireNonNull(filePath, "File path cannot be null");
+        return parseGraph(GraphIO.readAllBytes(filePath));
+    }
+
+    /**
+     * Parses a dataset document on multiple cores. The {@code edges} array is
+     * split into byte ranges that end on object boundaries: each cut is found
+     * in parallel by scanning forward from an evenly spaced point to the next
+     * <code>}, {"</code>. A first parallel pass counts the edge objects per
+     * range and checks that each range holds only whole objects, which proves
+     * every cut real; if one landed inside a string or a nested value, the array
+     * is split again by a sequential scan. A prefix sum turns the counts into
+     * write offsets. A second pass parses every range straight into its
+     * slice of the final edge columns, which become the graph without another
+     * copy. The remaining fields are read from the bytes outside the array.
+     * Edge objects may list their keys in any order; a missing {@code w}
+     * defaults to 1, and other fields are skipped whatever their value, nested
+     * objects and arrays included.
+     *
+     * @param json UTF-8 encoded JSON document
+     * @return the parsed graph
+     * @throws IllegalArgumentException on a malformed edge or an out-of-range vertex
+     */
+    public FrozenGraph parseGraph(byte[] json) {
+        Objects.requireNonNull(json, "JSON cannot be null");
+        StageEvent event = StageEvent.begin(StageEvent.PARSE, null);
+        int open = findEdgesArray(json);
+        EdgeRanges ranges = open < 0 ? new EdgeRanges(new int[]{0, 0}, new int[2]) : EdgeRanges.split(json, open + 1);
+        int[] bounds = ranges.bounds;
+        int[] offsets = ranges.offsets;
+        int chunks = bounds.length - 1;
+        int close = bounds[chunks];
+        String header = open < 0 ? new String(json, StandardCharsets.UTF_8)
+                : new String(json, 0, open, StandardCharsets.UTF_8) + "\n"
+                + new String(json, close + 1, json.length - close - 1, StandardCharsets.UTF_8);
+
+        int m = offsets[chunks];
+        int[] sources = new int[m];
+        int[] destinations = new int[m];
+        int[] weights = new int[m];
+        int[] maxVertex = new int[chunks];
+        chunkRange(chunks).forEach(c -> maxVertex[c] = parseObjects(json, bounds[c], bounds[c + 1],
+                offsets[c], offsets[c + 1], sources, destinations, weights));
+
+        int max = -1;
+        for (int value : maxVertex) max = Math.max(max, value);
+        Matcher nm = N_PATTERN.matcher(header);
+        int n = nm.find() ? Integer.parseInt(nm.group(1)) : max + 1;
+        if (max >= n) throw new IllegalArgumentException("Vertex out of bounds: " + max);
+        int source = extractSource(header, n);
+        FrozenGraph graph = new FrozenGraph(n, extractDirected(header), extractWeightModel(header), source,
+                sources, destinations, weights);
+        event.describe(graph);
+        event.end(-1, json.length);
+        return graph;
+    }
+
+    private static IntStream chunkRange(int chunks) {
+        IntStream range = IntStream.range(0, chunks);
+        return chunks > 1 ? range.parallel() : range;
+    }
+
+    /**
+     * @return index just after the {@code [} of the {@code "edges"} array, or -1 if absent
+     */
+    private static int findEdgesArray(byte[] json) {
+        for (int i = 0; i + EDGES_KEY.length <= json.length; i++) {
+            if (json[i] != '"' || !startsWith(json, i, EDGES_KEY)) continue;
+            int pos = skipWhitespace(json, i + EDGES_KEY.length, json.length);
+            if (pos >= json.length || json[pos] != ':') continue;
+            pos = skipWhitespace(json, pos + 1, json.length);
+            if (pos < json.length && json[pos] == '[') return pos;
+        }
+        return -1;
+    }
+
+    /**
+     * Byte ranges of the edges array, each starting between two edge objects,
+     * with the write offset of every range's first edge.
+     */
+    private static final class EdgeRanges {
+        /** Range boundaries; the last one is the index of the closing {@code ]}. */
+        final int[] bounds;
+        /** Prefix sums of the per-range edge counts. */
+        final int[] offsets;
+
+        EdgeRanges(int[] bounds, int[] offsets) {
+            this.bounds = bounds;
+            this.offsets = offsets;
+        }
+
+        /**
+         * Splits the array starting at {@code from}, speculatively in parallel
+         * when it is large enough, by a sequential scan otherwise or when a
+         * speculative cut turns out not to lie between two edge objects.
+         */
+        static EdgeRanges split(byte[] json, int from) {
+            int length = json.length - from;
+            int chunks = length < PARALLEL_MIN_BYTES ? 1
+                    : Math.max(1, Math.min(length / MIN_CHUNK_BYTES, 4 * Runtime.getRuntime().availableProcessors()));
+            if (chunks > 1) {
+                int[] cuts = chunkRange(chunks)
+                        .map(c -> c == 0 ? from : nextCut(json, from + (int) ((long) length * c / chunks)))
+                        .toArray();
+                int ranges = 0;
+                for (int cut : cuts) if (cut > (ranges == 0 ? -1 : cuts[ranges - 1])) cuts[ranges++] = cut;
+                int[] bounds = Arrays.copyOf(cuts, ranges + 1);
+                int[] close = {-1};
+                int[] counts = new int[ranges];
+                try {
+                    chunkRange(ranges).forEach(c -> counts[c] = c + 1 < counts.length
+                            ? countObjects(json, bounds[c], bounds[c + 1], null)
+                            : countObjects(json, bounds[c], json.length, close));
+                    bounds[ranges] = close[0];
+                    return new EdgeRanges(bounds, prefixSums(counts));
+                } catch (IllegalArgumentException e) {
+                    // a cut fell inside a string or a nested value; split sequentially
+                }
+            }
+            int[] bounds = splitOnObjects(json, from, chunks);
+            int[] counts = new int[bounds.length - 1];
+            chunkRange(counts.length).forEach(c -> counts[c] = countObjects(json, bounds[c], bounds[c + 1], null));
+            return new EdgeRanges(bounds, prefixSums(counts));
+        }
+
+        private static int[] prefixSums(int[] counts) {
+            int[] offsets = new int[counts.length + 1];
+            for (int c = 0; c < counts.length; c++) offsets[c + 1] = offsets[c] + counts[c];
+            return offsets;
+        }
+    }
+
+    /**
+     * @return index just after the first <code>}</code> at or after {@code pos}
+     *         that is followed by a comma and an object starting with a key, or
+     *         -1 if there is none. Only a candidate cut: the match may lie inside
+     *         a string or a nested value.
+     */
+    private static int nextCut(byte[] json, int pos) {
+        for (int i = pos; i < json.length; i++) {
+            if (json[i] != '}') continue;
+            int j = skipWhitespace(json, i + 1, json.length);
+            if (j >= json.length || json[j] != ',') continue;
+            j = skipWhitespace(json, j + 1, json.length);
+            if (j >= json.length || json[j] != '{') continue;
+            j = skipWhitespace(json, j + 1, json.length);
+            if (j < json.length && json[j] == '"') return i + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Walks the edges array from {@code from} to its closing {@code ]}, skipping
+     * strings and tracking nesting, and cuts it into up to {@code chunks} ranges,
+     * each ending just after an edge object. Braces inside strings or nested
+     * values never end a range.
+     *
+     * @return range boundaries; the last one is the index of the closing {@code ]}
+     */
+    private static int[] splitOnObjects(byte[] json, int from, int chunks) {
+        int length = json.length - from;
+        int[] bounds = new int[chunks + 1];
+        bounds[0] = from;
+        int cut = 1;
+        int depth = 0;
+        for (int i = from; i < json.length; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                i = skipString(json, i, json.length) - 1;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    if (b == '}') throw malformed(i);
+                    int[] result = Arrays.copyOf(bounds, cut + 1);
+                    result[cut] = i;
+                    return result;
+                }
+                if (--depth == 0 && cut < chunks && i + 1 - from >= (long) length * cut / chunks) bounds[cut++] = i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated edges array");
+    }
+
+    /**
+     * Counts the edge objects in {@code [from, to)}, which starts between two of
+     * them and must hold only whole objects, commas and whitespace. With
+     * {@code close} the range instead runs on to the closing {@code ]} of the
+     * array, whose index is stored in {@code close[0]}.
+     *
+     * @return number of edge objects in the range
+     * @throws IllegalArgumentException if the range does not end between two objects
+     */
+    private static int countObjects(byte[] json, int from, int to, int[] close) {
+        int count = 0;
+        int depth = 0;
+        for (int i = from; i < to; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                i = skipString(json, i, to) - 1;
+            } else if (b == '{' || b == '[') {
+                if (depth++ == 0) {
+                    if (b == '[') throw malformed(i);
+                    count++;
+                }
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    if (b == '}' || close == null) throw malformed(i);
+                    close[0] = i;
+                    return count;
+                }
+                depth--;
+            } else if (depth == 0 && b != ',' && !isWhitespace(b)) {
+                throw malformed(i);
+            }
         }
+        if (depth != 0 || close != null) throw malformed(to);
+        return count;
+    }
+
+    /**
+     * Parses the edge objects in {@code [from, to)} into slots {@code [slot, end)}.
+     *
+     * @return largest vertex id seen, or -1 if the range holds no edges
+     */
+    private static int parseObjects(byte[] json, int from, int to, int slot, int end,
+                                    int[] sources, int[] destinations, int[] weights) {
+        int max = -1;
+        int pos = from;
+        while (true) {
+            while (pos < to && (json[pos] == ',' || isWhitespace(json[pos]))) pos++;
+            if (pos >= to) break;
+            if (json[pos] != '{' || slot >= end) throw malformed(pos);
+            int u = -1, v = -1, w = 1;
+            pos = skipWhitespace(json, pos + 1, to);
+            while (pos < to && json[pos] != '}') {
+                if (json[pos] != '"') throw malformed(pos);
+                int keyEnd = skipString(json, pos, to) - 1;
+                byte key = keyEnd == pos + 2 ? json[pos + 1] : 0;
+                pos = skipWhitespace(json, keyEnd + 1, to);
+                if (pos >= to || json[pos] != ':') throw malformed(pos);
+                pos = skipWhitespace(json, pos + 1, to);
+                if (key != 'u' && key != 'v' && key != 'w') {
+                    pos = skipValue(json, pos, to);
+                } else {
+                    int valueStart = pos;
+                    boolean negative = pos < to && json[pos] == '-';
+                    if (negative) pos++;
+                    long value = 0;
+                    int digits = 0;
+                    while (pos < to && json[pos] >= '0' && json[pos] <= '9' && digits <= 10) {
+                        value = value * 10 + (json[pos++] - '0');
+                        digits++;
+                    }
+                    if (digits == 0 || digits > 10 || value > Integer.MAX_VALUE) throw malformed(valueStart);
+                    int number = (int) (negative ? -value : value);
+                    if (key == 'u') u = number;
+                    else if (key == 'v') v = number;
+                    else w = number;
+                }
+                pos = skipWhitespace(json, pos, to);
+                if (pos < to && json[pos] == ',') pos = skipWhitespace(json, pos + 1, to);
+            }
+            if (pos >= to || u < 0 || v < 0) throw malformed(pos);
+            sources[slot] = u;
+            destinations[slot] = v;
+            weights[slot] = w;
+            slot++;
+            max = Math.max(max, Math.max(u, v));
+            pos++;
+        }
+        if (slot != end) throw malformed(to);
+        return max;
+    }
+
+    private static IllegalArgumentException malformed(int pos) {
+        return new IllegalArgumentException("Malformed edge near byte " + pos);
+    }
+
+    private static boolean startsWith(byte[] json, int pos, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) if (json[pos + i] != prefix[i]) return false;
+        return true;
+    }
+
+    /**
+     * @param pos index of the opening quote
+     * @return index just after the closing quote
+     */
+    private static int skipString(byte[] json, int pos, int to) {
+        for (int i = pos + 1; i < to; i++) {
+            if (json[i] == '\\') i++;
+            else if (json[i] == '"') return i + 1;
+        }
+        throw malformed(pos);
+    }
+
+    /**
+     * Skips a string, object, array or literal value of a field the parser does not use.
+     *
+     * @return index just after the value
+     */
+    private static int skipValue(byte[] json, int pos, int to) {
+        if (pos >= to) throw malformed(pos);
+        if (json[pos] == '"') return skipString(json, pos, to);
+        if (json[pos] != '{' && json[pos] != '[') {
+            int start = pos;
+            while (pos < to && json[pos] != ',' && json[pos] != '}' && !isWhitespace(json[pos])) pos++;
+            if (pos == start) throw malformed(pos);
+            return pos;
+        }
+        int depth = 0;
+        for (int i = pos; i < to; i++) {
+            byte b = json[i];
+            if (b == '"') i = skipString(json, i, to) - 1;
+            else if (b == '{' || b == '[') depth++;
+            else if ((b == '}' || b == ']') && --depth == 0) return i + 1;
+        }
+        throw malformed(pos);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static int skipWhitespace(byte[] json, int pos, int to) {
+        while (pos < to && isWhitespace(json[pos])) pos++;
+        return pos;
+    }
+
+    private String readFile(String filePath) {
+        return new String(GraphIO.readAllBytes(filePath), StandardCharsets.UTF_8);
     }
 
     private int extractVertexCount(String json) {
@@ -1,10 +1,9 @@
 package graph;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
 
 /**
  * Kahn's algorithm for topological sorting of directed acyclic graphs (DAGs).
@@ -20,33 +19,51 @@ public class KahnTopologicalSort {
      * @return TopoResult containing the topological order and cycle detection status
      * @throws IllegalArgumentException if graph is null
      */
-    public TopoResult topologicalSort(Graph dag, Metrics metrics) {
+    public TopoResult topologicalSort(GraphStore dag, Metrics metrics) {
+        return topologicalSort(dag, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant; checks {@code token} once every
+     * {@value CancellationToken#CHECK_INTERVAL} emitted vertices.
+     *
+     * @param dag     the directed graph to sort
+     * @param metrics optional metrics collector for performance tracking
+     * @param token   cancellation and progress token
+     * @return TopoResult containing the topological order and cycle detection status
+     * @throws AnalysisCancelledException if the token is cancelled during the sort
+     */
+    public TopoResult topologicalSort(GraphStore dag, Metrics metrics, CancellationToken token) {
         Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
         
         int n = dag.getN();
         if (n == 0) return new TopoResult(new ArrayList<>(), false);
         
+        CsrAdjacency adj = CsrAdjacency.of(dag);
         int[] inDegree = new int[n];
-        List<List<Integer>> adj = buildAdjacencyList(dag, inDegree);
+        for (int i = 0; i < adj.getEdgeCount(); i++) inDegree[adj.targets[i]]++;
 
-        Queue<Integer> queue = new LinkedList<>();
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
         for (int i = 0; i < n; i++) {
-            if (inDegree[i] == 0) queue.add(i);
+            if (inDegree[i] == 0) queue[tail++] = i;
         }
 
-        List<Integer> order = new ArrayList<>(n);
         if (metrics != null) metrics.startTimer();
-        
-        while (!queue.isEmpty()) {
-            int u = queue.remove();
-            order.add(u);
-            if (metrics != null) metrics.incrementCounter(Metrics.TOPO_POPS);
-            
-            for (int v : adj.get(u)) {
-                inDegree[v]--;
-                if (inDegree[v] == 0) queue.add(v);
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0 && head > 0) token.checkpoint("TOPOLOGICAL_SORT", head, n);
+            int u = queue[head++];
+            for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                int v = adj.targets[i];
+                if (--inDegree[v] == 0) queue[tail++] = v;
             }
         }
+        if (metrics != null && tail > 0) metrics.incrementCounter(Metrics.TOPO_POPS, tail);
+
+        List<Integer> order = new ArrayList<>(tail);
+        for (int i = 0; i < tail; i++) order.add(queue[i]);
 
         boolean hasCycle = order.size() != n;
         if (hasCycle && metrics != null) {
@@ -57,22 +74,138 @@ public class KahnTopologicalSort {
     }
 
     /**
-     * Builds an adjacency list representation from the graph edges.
-     * Also computes in-degrees for all vertices.
+     * Performs Kahn's algorithm directly on a compressed graph, decoding each
+     * neighbor list twice (once for in-degrees, once when the vertex is emitted).
      *
-     * @param dag      the graph to convert
-     * @param inDegree array to store in-degree values
-     * @return adjacency list representation
+     * @param dag     the compressed directed graph to sort
+     * @param metrics optional metrics collector for performance tracking
+     * @return TopoResult containing the topological order and cycle detection status
      */
-    private List<List<Integer>> buildAdjacencyList(Graph dag, int[] inDegree) {
+    public TopoResult topologicalSort(CompressedGraph dag, Metrics metrics) {
+        return topologicalSort(dag, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #topologicalSort(CompressedGraph, Metrics)};
+     * checks {@code token} once every {@value CancellationToken#CHECK_INTERVAL}
+     * emitted vertices.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled during the sort
+     */
+    public TopoResult topologicalSort(CompressedGraph dag, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
         int n = dag.getN();
-        List<List<Integer>> adj = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-        
-        for (Edge e : dag.getEdges()) {
-            adj.get(e.getSource()).add(e.getDestination());
-            inDegree[e.getDestination()]++;
+        CompressedGraph.Cursor cursor = dag.cursor();
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            cursor.reset(u);
+            while (cursor.hasNext()) inDegree[cursor.next()]++;
+        }
+
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) if (inDegree[v] == 0) queue[tail++] = v;
+        if (metrics != null) metrics.startTimer();
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0 && head > 0) token.checkpoint("TOPOLOGICAL_SORT", head, n);
+            cursor.reset(queue[head++]);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                if (--inDegree[v] == 0) queue[tail++] = v;
+            }
+        }
+        if (metrics != null && tail > 0) metrics.incrementCounter(Metrics.TOPO_POPS, tail);
+
+        List<Integer> order = new ArrayList<>(tail);
+        for (int i = 0; i < tail; i++) order.add(queue[i]);
+        boolean hasCycle = tail != n;
+        if (hasCycle && metrics != null) {
+            metrics.addCounter("CYCLE_DETECTED", 1);
+        }
+        return new TopoResult(order, hasCycle);
+    }
+
+    /**
+     * Performs Kahn's algorithm frontier by frontier and returns the vertices grouped
+     * into levels: level 0 holds the vertices without dependencies, and level
+     * {@code i + 1} holds the vertices whose last dependency was released by level
+     * {@code i}. Widths and per-level weights are computed in the same pass.
+     *
+     * @param dag           the directed graph to decompose
+     * @param vertexWeights per-vertex weight summed per level, or {@code null} to weigh every vertex as 1
+     * @param metrics       optional metrics collector for performance tracking
+     * @return LevelResult with levels, widths, weights and cycle detection status
+     * @throws IllegalArgumentException if the weight array does not match the vertex count
+     */
+    public LevelResult topologicalLevels(GraphStore dag, int[] vertexWeights, Metrics metrics) {
+        return topologicalLevels(dag, vertexWeights, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #topologicalLevels(GraphStore, int[], Metrics)};
+     * checks {@code token} once every {@value CancellationToken#CHECK_INTERVAL}
+     * emitted vertices.
+     *
+     * @throws AnalysisCancelledException if the token is cancelled during the decomposition
+     */
+    public LevelResult topologicalLevels(GraphStore dag, int[] vertexWeights, Metrics metrics,
+                                         CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        int n = dag.getN();
+        if (vertexWeights != null && vertexWeights.length != n) {
+            throw new IllegalArgumentException("Weight array length must equal vertex count");
+        }
+        CsrAdjacency adj = CsrAdjacency.of(dag);
+        int[] inDegree = new int[n];
+        for (int i = 0; i < adj.getEdgeCount(); i++) inDegree[adj.targets[i]]++;
+
+        int[] order = new int[n];
+        int[] levelOf = new int[n];
+        Arrays.fill(levelOf, -1);
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+                levelOf[v] = 0;
+            }
+        }
+
+        if (metrics != null) metrics.startTimer();
+        int[] levelStart = new int[n + 1];
+        long[] levelWeights = new long[n];
+        int levels = 0;
+        int head = 0;
+        while (head < tail) {
+            int levelEnd = tail;
+            levelStart[levels] = head;
+            long weight = 0;
+            for (; head < levelEnd; head++) {
+                if ((head & CancellationToken.CHECK_MASK) == 0 && head > 0) token.checkpoint("LEVELS", head, n);
+                int u = order[head];
+                weight += vertexWeights == null ? 1 : vertexWeights[u];
+                for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                    int v = adj.targets[i];
+                    if (--inDegree[v] == 0) {
+                        order[tail++] = v;
+                        levelOf[v] = levels + 1;
+                    }
+                }
+            }
+            levelWeights[levels++] = weight;
+        }
+        levelStart[levels] = tail;
+        if (metrics != null && tail > 0) metrics.incrementCounter(Metrics.TOPO_POPS, tail);
+
+        boolean hasCycle = tail != n;
+        if (hasCycle && metrics != null) {
+            metrics.addCounter("CYCLE_DETECTED", 1);
         }
-        return adj;
+        return new LevelResult(Arrays.copyOf(order, tail), Arrays.copyOf(levelStart, levels + 1),
+                Arrays.copyOf(levelWeights, levels), levelOf, hasCycle);
     }
 }
@@ -0,0 +1,130 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Kosaraju's algorithm for strongly connected components.
+ * A first iterative DFS over the forward CSR records vertices in finishing order;
+ * a second pass walks the transposed CSR in reverse finishing order, and every
+ * search tree of that pass is one component.
+ *
+ * <p>Both passes are simple sweeps over primitive arrays with no low-link
+ * bookkeeping. Components are numbered in topological order of the condensation.
+ * Scratch arrays come from a pooled {@link SearchWorkspace}.
+ */
+public class KosarajuSCC implements SCCFinder {
+
+    /**
+     * Finds all strongly connected components in the given graph.
+     *
+     * @param graph   the directed graph to analyze
+     * @param metrics optional metrics collector for performance tracking
+     * @return SCCResult containing all components and vertex-to-component mapping
+     * @throws IllegalArgumentException if graph is null
+     */
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics) {
+        return findSCCs(graph, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant; checks {@code token} once every
+     * {@value CancellationToken#CHECK_INTERVAL} vertices in each pass. Progress
+     * counts both passes, so it runs up to {@code 2n}.
+     *
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        CsrAdjacency forward = CsrAdjacency.of(graph);
+        return findSCCs(forward, forward.reverse(), metrics, token);
+    }
+
+    /**
+     * Runs both passes on adjacencies the caller has already built.
+     *
+     * @param transposed the reverse of {@code forward}
+     */
+    SCCResult findSCCs(CsrAdjacency forward, CsrAdjacency transposed, Metrics metrics, CancellationToken token) {
+        int n = forward.getN();
+
+        if (metrics != null) metrics.startTimer();
+
+        int[] compOf = new int[n];
+        Arrays.fill(compOf, -1);
+        int compCount = 0;
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(n)) {
+            int[] finishOrder = computeFinishOrder(forward, workspace, token);
+            int[] stack = workspace.ints(3);
+            for (int k = n - 1; k >= 0; k--) {
+                if ((k & CancellationToken.CHECK_MASK) == 0) token.checkpoint("SCC", 2L * n - k, 2L * n);
+                int root = finishOrder[k];
+                if (compOf[root] != -1) continue;
+                int top = 0;
+                stack[top++] = root;
+                compOf[root] = compCount;
+                while (top > 0) {
+                    int v = stack[--top];
+                    for (int i = transposed.offsets[v]; i < transposed.offsets[v + 1]; i++) {
+                        int w = transposed.targets[i];
+                        if (compOf[w] == -1) {
+                            compOf[w] = compCount;
+                            stack[top++] = w;
+                        }
+                    }
+                }
+                compCount++;
+            }
+        }
+        if (metrics != null && n > 0) metrics.incrementCounter(Metrics.DFS_VISITS, 2 * n);
+
+        return SCCResult.fromComponentIds(compOf, compCount);
+    }
+
+    /**
+     * Iterative DFS over the forward graph with a per-frame edge cursor.
+     *
+     * @return vertices in increasing finishing time, in a workspace buffer
+     */
+    private int[] computeFinishOrder(CsrAdjacency adj, SearchWorkspace workspace, CancellationToken token) {
+        int n = adj.getN();
+        int[] offsets = adj.offsets;
+        int[] targets = adj.targets;
+        boolean[] visited = workspace.flags();
+        int[] callStack = workspace.ints(0);
+        int[] edgeCursor = workspace.ints(1);
+        int[] order = workspace.ints(2);
+        int finished = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            int top = 0;
+            callStack[0] = s;
+            edgeCursor[0] = offsets[s];
+            visited[s] = true;
+            while (top >= 0) {
+                int v = callStack[top];
+                int i = edgeCursor[top];
+                int end = offsets[v + 1];
+                while (i < end && visited[targets[i]]) i++;
+                if (i < end) {
+                    int w = targets[i];
+                    edgeCursor[top] = i + 1;
+                    visited[w] = true;
+                    top++;
+                    callStack[top] = w;
+                    edgeCursor[top] = offsets[w];
+                } else {
+                    if ((finished & CancellationToken.CHECK_MASK) == 0) token.checkpoint("SCC", finished, 2L * n);
+                    order[finished++] = v;
+                    top--;
+                }
+            }
+        }
+        return order;
+    }
+}
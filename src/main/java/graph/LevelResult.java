@@ -0,0 +1,122 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Wavefront decomposition of a DAG: level {@code i} holds the vertices whose
+ * dependencies all lie in levels {@code < i}, so each level can be dispatched
+ * as one batch. Levels are stored back to back in a single topological order.
+ */
+public class LevelResult {
+    /** Levels narrower than this are swept on the calling thread. */
+    static final int PARALLEL_MIN_LEVEL_WIDTH = 1024;
+
+    private final int[] order;
+    private final int[] levelStart;
+    private final long[] levelWeights;
+    private final int[] levelOf;
+    private final boolean hasCycle;
+
+    LevelResult(int[] order, int[] levelStart, long[] levelWeights, int[] levelOf, boolean hasCycle) {
+        this.order = order;
+        this.levelStart = levelStart;
+        this.levelWeights = levelWeights;
+        this.levelOf = levelOf;
+        this.hasCycle = hasCycle;
+    }
+
+    public int getLevelCount() {
+        return levelStart.length - 1;
+    }
+
+    /**
+     * @return vertices of level {@code i}
+     */
+    public int[] getLevel(int i) {
+        return Arrays.copyOfRange(order, levelStart[i], levelStart[i + 1]);
+    }
+
+    public int[][] getLevels() {
+        int[][] levels = new int[getLevelCount()][];
+        for (int i = 0; i < levels.length; i++) levels[i] = getLevel(i);
+        return levels;
+    }
+
+    public int getLevelWidth(int i) {
+        return levelStart[i + 1] - levelStart[i];
+    }
+
+    public int[] getLevelWidths() {
+        int[] widths = new int[getLevelCount()];
+        for (int i = 0; i < widths.length; i++) widths[i] = getLevelWidth(i);
+        return widths;
+    }
+
+    /**
+     * @return total vertex weight of level {@code i}
+     */
+    public long getLevelWeight(int i) {
+        return levelWeights[i];
+    }
+
+    public long[] getLevelWeights() {
+        return levelWeights.clone();
+    }
+
+    /**
+     * @return level index per vertex; -1 for vertices on or behind a cycle
+     */
+    public int[] getLevelOf() {
+        return levelOf.clone();
+    }
+
+    /**
+     * @return all leveled vertices, level by level; a valid topological order
+     */
+    public List<Integer> getOrder() {
+        List<Integer> list = new ArrayList<>(order.length);
+        for (int v : order) list.add(v);
+        return Collections.unmodifiableList(list);
+    }
+
+    public boolean hasCycle() {
+        return hasCycle;
+    }
+
+    /**
+     * @return position of every vertex in {@link #getOrder()}; -1 for unleveled vertices
+     */
+    int[] positions() {
+        int[] position = new int[levelOf.length];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) position[order[i]] = i;
+        return position;
+    }
+
+    /**
+     * Applies {@code task} to every vertex of levels {@code firstLevel..} in level
+     * order. Vertices of one level run concurrently on the common pool when the
+     * level is wide enough; a level starts only after the previous one finished,
+     * so a task may read anything written for earlier levels.
+     *
+     * @return sum of the task results
+     */
+    long sweep(int firstLevel, IntUnaryOperator task) {
+        long total = 0;
+        for (int level = firstLevel; level < getLevelCount(); level++) {
+            int from = levelStart[level];
+            int to = levelStart[level + 1];
+            if (to - from >= PARALLEL_MIN_LEVEL_WIDTH) {
+                total += IntStream.range(from, to).parallel().mapToLong(i -> task.applyAsInt(order[i])).sum();
+            } else {
+                for (int i = from; i < to; i++) total += task.applyAsInt(order[i]);
+            }
+        }
+        return total;
+    }
+}
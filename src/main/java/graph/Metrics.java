@@ -1,14 +1,34 @@
 package graph;
 
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Operation counters, a timer and per-stage resource usage. Counters may be
+ * updated from several threads at once, so one instance can be shared by
+ * stages or algorithms running concurrently.
+ */
 public class Metrics {
-    private long startTime;
-    private int operationCount;
-    private final Map<String, Integer> counters = new HashMap<>();
+    private volatile long startTime;
+    private final LongAdder operationCount = new LongAdder();
+    private final ConcurrentHashMap<String, Integer> counters = new ConcurrentHashMap<>();
+    private final Map<String, StageStats> stages = new LinkedHashMap<>();
 
     public static final String DFS_VISITS = "DFS_VISITS";
     public static final String EDGE_RELAXATIONS = "EDGE_RELAXATIONS";
@@ -23,13 +43,23 @@ public class Metrics {
 
     public void incrementCounter(String operation) {
         Objects.requireNonNull(operation, "Operation name cannot be null");
-        operationCount++;
-        counters.put(operation, counters.getOrDefault(operation, 0) + 1);
+        operationCount.increment();
+        counters.merge(operation, 1, Integer::sum);
+    }
+
+    /**
+     * Records {@code times} occurrences of an operation in one call, so hot loops
+     * can count locally and report once instead of incrementing per step.
+     */
+    public void incrementCounter(String operation, int times) {
+        Objects.requireNonNull(operation, "Operation name cannot be null");
+        operationCount.add(times);
+        counters.merge(operation, times, Integer::sum);
     }
 
     public void addCounter(String operation, int value) {
         Objects.requireNonNull(operation, "Operation name cannot be null");
-        counters.put(operation, counters.getOrDefault(operation, 0) + value);
+        counters.merge(operation, value, Integer::sum);
     }
 
     public long getStartTime() {
@@ -45,7 +75,7 @@ public class Metrics {
     }
 
     public int getOperationCount() {
-        return operationCount;
+        return operationCount.intValue();
     }
 
     public Map<String, Integer> getCounters() {
@@ -56,25 +86,233 @@ public class Metrics {
         return counters.getOrDefault(operation, 0);
     }
 
+    /**
+     * Starts measuring a pipeline stage; closing the returned handle records its
+     * wall time, allocated bytes, GC count/time deltas and peak heap usage under
+     * {@code name}. Repeated stages accumulate.
+     *
+     * <p>Allocation covers the calling thread and, while no other stage is
+     * open, every fork/join worker thread, so work the stage hands to a pool is
+     * included. A stage that overlaps another counts the calling thread only,
+     * since pool threads cannot be attributed to either, and its
+     * {@link StageStats} says so. Workers that exit while the stage runs are
+     * not counted. Peak heap is the highest heap
+     * usage sampled every {@value HeapSampler#INTERVAL_MILLIS} ms while the
+     * stage runs, with no JVM-wide state reset, so nested and concurrent stages
+     * do not disturb each other. GC counts and times are JVM-wide.
+     *
+     * <pre>
+     * try (Metrics.Stage ignored = metrics.beginStage("scc")) { ... }
+     * </pre>
+     */
+    public Stage beginStage(String name) {
+        Objects.requireNonNull(name, "Stage name cannot be null");
+        return new Stage(name);
+    }
+
+    /**
+     * @return recorded stages in the order they first ran
+     */
+    public Map<String, StageStats> getStages() {
+        Map<String, StageStats> copy = new LinkedHashMap<>();
+        synchronized (stages) {
+            for (Map.Entry<String, StageStats> entry : stages.entrySet()) {
+                copy.put(entry.getKey(), new StageStats(entry.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
     public void reset() {
         startTime = 0;
-        operationCount = 0;
+        operationCount.reset();
         counters.clear();
+        synchronized (stages) {
+            stages.clear();
+        }
     }
 
     public void printMetrics() {
-        System.out.println("=== Performance Metrics ===");
-        System.out.println("Total Operations: " + operationCount);
-        System.out.println("Elapsed Time: " + getElapsedTimeMillis() + " ms");
-        System.out.println("--- Counter Details ---");
+        printMetrics(System.out);
+    }
+
+    public void printMetrics(PrintStream out) {
+        out.println("=== Performance Metrics ===");
+        out.println("Total Operations: " + getOperationCount());
+        out.println("Elapsed Time: " + getElapsedTimeMillis() + " ms");
+        out.println("--- Counter Details ---");
         for (Map.Entry<String, Integer> entry : counters.entrySet()) {
-            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+            out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+        Map<String, StageStats> recorded = getStages();
+        if (!recorded.isEmpty()) {
+            out.println("--- Stage Details ---");
+            for (StageStats stage : recorded.values()) {
+                out.println("  " + stage);
+            }
         }
     }
 
     @Override
     public String toString() {
         return String.format("Metrics{ops=%d, elapsed=%dms, counters=%s}",
-                operationCount, getElapsedTimeMillis(), counters);
+                getOperationCount(), getElapsedTimeMillis(), counters);
+    }
+
+    /**
+     * Handle for a running stage, see {@link #beginStage(String)}.
+     */
+    public final class Stage implements AutoCloseable {
+        private final String name;
+        private final long startNanos;
+        private final Map<Long, Long> startAllocated;
+        private final long startGcCount;
+        private final long startGcTime;
+        private volatile long peakHeap;
+        private volatile boolean overlapped;
+        private boolean closed;
+
+        private Stage(String name) {
+            this.name = name;
+            this.startGcCount = totalGcCount();
+            this.startGcTime = totalGcTimeMillis();
+            this.startAllocated = allocationSnapshot();
+            this.peakHeap = HeapSampler.heapUsed();
+            HeapSampler.register(this);
+            this.startNanos = System.nanoTime();
+        }
+
+        private void observe(long heapUsed) {
+            if (heapUsed > peakHeap) peakHeap = heapUsed;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            long wall = System.nanoTime() - startNanos;
+            Map<Long, Long> endAllocated = allocationSnapshot();
+            HeapSampler.unregister(this);
+            boolean callerThreadOnly = overlapped;
+            long allocated = allocatedSince(startAllocated, endAllocated, callerThreadOnly);
+            observe(HeapSampler.heapUsed());
+            long gcCount = totalGcCount() - startGcCount;
+            long gcTime = totalGcTimeMillis() - startGcTime;
+            synchronized (stages) {
+                stages.computeIfAbsent(name, StageStats::new).add(wall, allocated, gcCount, gcTime, peakHeap,
+                        callerThreadOnly);
+            }
+        }
+    }
+
+    /**
+     * Tracks the stages that are currently open, marking those that overlap,
+     * and polls heap usage for them. The daemon thread only runs while at
+     * least one stage is open.
+     */
+    private static final class HeapSampler {
+        static final long INTERVAL_MILLIS = 10;
+
+        private static final Set<Stage> OPEN = ConcurrentHashMap.newKeySet();
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private static ScheduledFuture<?> sampling;
+
+        static synchronized void register(Stage stage) {
+            if (!OPEN.isEmpty()) {
+                stage.overlapped = true;
+                for (Stage open : OPEN) open.overlapped = true;
+            }
+            OPEN.add(stage);
+            if (sampling == null) {
+                sampling = EXECUTOR.scheduleAtFixedRate(HeapSampler::sample, INTERVAL_MILLIS, INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        static synchronized void unregister(Stage stage) {
+            OPEN.remove(stage);
+            if (OPEN.isEmpty() && sampling != null) {
+                sampling.cancel(false);
+                sampling = null;
+            }
+        }
+
+        static long heapUsed() {
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+
+        private static void sample() {
+            long used = heapUsed();
+            for (Stage stage : OPEN) stage.observe(used);
+        }
+    }
+
+    /**
+     * @return bytes allocated so far by the calling thread and by every live
+     *         fork/join worker, keyed by thread id, or null if the JVM cannot
+     *         measure allocation
+     */
+    private static Map<Long, Long> allocationSnapshot() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported() || !hotspot.isThreadAllocatedMemoryEnabled()) return null;
+
+        Thread current = Thread.currentThread();
+        ThreadGroup root = current.getThreadGroup();
+        while (root.getParent() != null) root = root.getParent();
+        Thread[] live = new Thread[root.activeCount() + 16];
+        int count = root.enumerate(live);
+        long[] ids = new long[count + 1];
+        int tracked = 0;
+        ids[tracked++] = current.getId();
+        for (int i = 0; i < count; i++) {
+            if (live[i] instanceof ForkJoinWorkerThread && live[i] != current) ids[tracked++] = live[i].getId();
+        }
+        ids = Arrays.copyOf(ids, tracked);
+
+        long[] bytes = hotspot.getThreadAllocatedBytes(ids);
+        Map<Long, Long> snapshot = new LinkedHashMap<>();
+        for (int i = 0; i < tracked; i++) {
+            if (bytes[i] >= 0) snapshot.put(ids[i], bytes[i]);
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return bytes allocated between two snapshots by the calling thread and,
+     *         unless {@code callerThreadOnly}, by the pool workers; -1 if unmeasured
+     */
+    private static long allocatedSince(Map<Long, Long> start, Map<Long, Long> end, boolean callerThreadOnly) {
+        if (start == null || end == null) return -1;
+        long caller = Thread.currentThread().getId();
+        if (!start.containsKey(caller) || !end.containsKey(caller)) return -1;
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : end.entrySet()) {
+            long id = entry.getKey();
+            if (callerThreadOnly && id != caller) continue;
+            total += Math.max(0, entry.getValue() - start.getOrDefault(id, 0L));
+        }
+        return total;
+    }
+
+    private static long totalGcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
     }
 }
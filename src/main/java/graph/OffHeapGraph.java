@@ -0,0 +1,216 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Graph store that keeps edges outside the Java heap in packed primitive columns
+ * (source, destination, weight), backed by direct {@link ByteBuffer}s.
+ * Each edge costs 12 bytes and creates no heap objects, so very large edge lists
+ * do not add GC pressure.
+ *
+ * <p>Columns are split into fixed-size chunks, which keeps every buffer below the
+ * 2 GB direct-buffer limit and lets the store grow without copying completed chunks.
+ * Undirected edges are stored once; the reverse direction is exposed virtually
+ * through the {@link GraphStore} view.
+ *
+ * <p>Direct buffers are freed by the garbage collector, not by {@link #close()}:
+ * their native memory is returned only once a GC finds them unreachable. Code
+ * that closes many large stores in a row should size {@code -XX:MaxDirectMemorySize}
+ * with that delay in mind; when the limit is hit, the JVM runs a full GC before
+ * failing an allocation.
+ */
+public class OffHeapGraph implements GraphStore, AutoCloseable {
+    private static final int CHUNK_SHIFT = 22;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private int n;
+    private final boolean directed;
+    private final String weightModel;
+    private int source;
+
+    private IntColumn sources = new IntColumn();
+    private IntColumn destinations = new IntColumn();
+    private IntColumn weights = new IntColumn();
+    private int storedEdges;
+
+    public OffHeapGraph(int n, boolean directed, String weightModel) {
+        this(n, directed, weightModel, 0);
+    }
+
+    public OffHeapGraph(int n, boolean directed, String weightModel, int source) {
+        if (n < 0) throw new IllegalArgumentException("Number of vertices must be non-negative");
+        if (n > 0 && (source < 0 || source >= n)) throw new IllegalArgumentException("Source vertex out of bounds");
+        Objects.requireNonNull(weightModel, "Weight model cannot be null");
+        this.n = n;
+        this.directed = directed;
+        this.weightModel = weightModel;
+        this.source = source;
+    }
+
+    /**
+     * Appends an edge. For undirected graphs the edge is stored once and
+     * reported in both directions.
+     *
+     * @throws IllegalArgumentException if a vertex is out of bounds
+     * @throws IllegalStateException    if the store has been closed or is full
+     */
+    public void addEdge(int u, int v, int weight) {
+        if (u < 0 || u >= n || v < 0 || v >= n) {
+            throw new IllegalArgumentException("Vertex out of bounds");
+        }
+        ensureOpen();
+        int limit = directed ? Integer.MAX_VALUE : Integer.MAX_VALUE / 2;
+        if (storedEdges >= limit) throw new IllegalStateException("Edge capacity exceeded");
+        sources.append(storedEdges, u);
+        destinations.append(storedEdges, v);
+        weights.append(storedEdges, weight);
+        storedEdges++;
+    }
+
+    /**
+     * Raises the vertex count to at least {@code count}. Used by streaming
+     * ingestion, where the number of vertices is only known once every edge
+     * has been seen.
+     *
+     * @param count minimum number of vertices
+     */
+    public void ensureVertexCount(int count) {
+        if (count > n) n = count;
+    }
+
+    @Override
+    public int getN() {
+        return n;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return directed ? storedEdges : storedEdges * 2;
+    }
+
+    @Override
+    public int getEdgeSource(int i) {
+        checkEdgeIndex(i);
+        return i < storedEdges ? sources.get(i) : destinations.get(i - storedEdges);
+    }
+
+    @Override
+    public int getEdgeDestination(int i) {
+        checkEdgeIndex(i);
+        return i < storedEdges ? destinations.get(i) : sources.get(i - storedEdges);
+    }
+
+    @Override
+    public int getEdgeWeight(int i) {
+        checkEdgeIndex(i);
+        return weights.get(i < storedEdges ? i : i - storedEdges);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public String getWeightModel() {
+        return weightModel;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    public void setSource(int source) {
+        if (source < 0 || source >= n) throw new IllegalArgumentException("Source vertex out of bounds");
+        this.source = source;
+    }
+
+    /**
+     * @return bytes of direct memory held by the edge columns; 0 once closed,
+     *         even if the buffers have not been collected yet
+     */
+    public long getOffHeapBytes() {
+        if (sources == null) return 0;
+        return sources.capacityBytes() + destinations.capacityBytes() + weights.capacityBytes();
+    }
+
+    /**
+     * Drops the references to the direct buffers. Their native memory is not
+     * released here but when the garbage collector reclaims the buffers, which
+     * may happen much later. The graph cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        sources = null;
+        destinations = null;
+        weights = null;
+        storedEdges = 0;
+    }
+
+    private void ensureOpen() {
+        if (sources == null) throw new IllegalStateException("Graph store has been closed");
+    }
+
+    private void checkEdgeIndex(int i) {
+        ensureOpen();
+        if (i < 0 || i >= getEdgeCount()) throw new IndexOutOfBoundsException("Edge index out of bounds: " + i);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapGraph{n=%d, edges=%d, directed=%s, weightModel='%s', source=%d}",
+                n, getEdgeCount(), directed, weightModel, source);
+    }
+
+    /**
+     * Append-only int column split into direct-buffer chunks. The last chunk
+     * starts small and doubles until it reaches the full chunk size, so small
+     * graphs do not reserve whole chunks.
+     */
+    private static final class IntColumn {
+        private static final int INITIAL_CHUNK_CAPACITY = 1024;
+
+        private final List<IntBuffer> chunks = new ArrayList<>();
+
+        void append(int position, int value) {
+            int chunk = position >>> CHUNK_SHIFT;
+            int offset = position & CHUNK_MASK;
+            if (chunk == chunks.size()) {
+                chunks.add(allocate(INITIAL_CHUNK_CAPACITY));
+            }
+            IntBuffer buffer = chunks.get(chunk);
+            if (offset >= buffer.capacity()) {
+                IntBuffer grown = allocate(Math.min(CHUNK_SIZE, buffer.capacity() * 2));
+                buffer.position(0).limit(buffer.capacity());
+                grown.put(buffer);
+                grown.clear();
+                chunks.set(chunk, grown);
+                buffer = grown;
+            }
+            buffer.put(offset, value);
+        }
+
+        int get(int position) {
+            return chunks.get(position >>> CHUNK_SHIFT).get(position & CHUNK_MASK);
+        }
+
+        long capacityBytes() {
+            long bytes = 0;
+            for (IntBuffer buffer : chunks) bytes += (long) buffer.capacity() * Integer.BYTES;
+            return bytes;
+        }
+
+        private static IntBuffer allocate(int capacity) {
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+    }
+}
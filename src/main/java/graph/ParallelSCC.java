@@ -0,0 +1,368 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel strongly connected components using trimming followed by
+ * forward-backward (FW-BW) decomposition.
+ *
+ * <ol>
+ *   <li>Trim: a few parallel rounds remove vertices with no remaining in- or
+ *       out-neighbors; each is a trivial component.</li>
+ *   <li>FW-BW: for the remaining vertices, the intersection of the forward and
+ *       backward reachable sets of a pivot is one component. The three leftover
+ *       sets cannot share a component and are processed as independent
+ *       fork/join tasks.</li>
+ *   <li>Partitions below {@link #SEQUENTIAL_THRESHOLD} vertices are finished with a
+ *       Tarjan search restricted to the partition.</li>
+ * </ol>
+ *
+ * Every partition has its own color, and a task only writes state for vertices of
+ * its own partition. Component ids are renumbered by smallest vertex at the end,
+ * so the result does not depend on thread scheduling.
+ *
+ * <p>The cancellable variant checks its token in every trimming round and in
+ * every task, once per {@value CancellationToken#CHECK_INTERVAL} vertices; a
+ * cancelled task fails its parent, so the whole decomposition stops.
+ */
+public class ParallelSCC implements SCCFinder {
+    static final int SEQUENTIAL_THRESHOLD = 4096;
+    private static final int TRIM_ROUNDS = 3;
+    private static final int DONE = 0;
+    private static final int ROOT_COLOR = 1;
+
+    private final ForkJoinPool pool;
+
+    public ParallelSCC() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelSCC(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    /**
+     * Finds all strongly connected components in the given graph.
+     *
+     * @param graph   the directed graph to analyze
+     * @param metrics optional metrics collector for performance tracking
+     * @return SCCResult containing all components and vertex-to-component mapping
+     * @throws IllegalArgumentException if graph is null
+     */
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics) {
+        return findSCCs(graph, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Finds all strongly connected components, checking {@code token} in the
+     * trimming rounds and in every fork/join task.
+     *
+     * @param graph   the directed graph to analyze
+     * @param metrics optional metrics collector for performance tracking
+     * @param token   cancellation token
+     * @return SCCResult containing all components and vertex-to-component mapping
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        CsrAdjacency forward = CsrAdjacency.of(graph);
+        return findSCCs(forward, forward.reverse(), null, metrics, token);
+    }
+
+    /**
+     * Runs the decomposition on adjacencies the caller has already built.
+     *
+     * @param backward the reverse of {@code forward}
+     * @param trivial  vertices already known to be trivial components, e.g. from
+     *                 trimming to a fixed point, or {@code null} to trim here
+     */
+    SCCResult findSCCs(CsrAdjacency forward, CsrAdjacency backward, boolean[] trivial, Metrics metrics,
+                       CancellationToken token) {
+        int n = forward.getN();
+        State state = new State(forward, backward, token);
+
+        if (metrics != null) metrics.startTimer();
+
+        int trimmed = trivial == null ? trim(state) : assignTrivial(state, trivial);
+        if (trimmed < n) {
+            int[] members = IntStream.range(0, n).filter(v -> state.color[v] == ROOT_COLOR).toArray();
+            pool.invoke(new PartitionTask(state, members, ROOT_COLOR));
+        }
+        if (metrics != null && n > 0) metrics.incrementCounter(Metrics.DFS_VISITS, n);
+
+        return SCCResult.fromComponentIds(state.compOf, renumber(state.compOf));
+    }
+
+    /**
+     * Runs up to {@link #TRIM_ROUNDS} parallel trimming rounds.
+     *
+     * @return number of vertices assigned to trivial components
+     */
+    private int trim(State state) {
+        int n = state.color.length;
+        boolean[] trivial = new boolean[n];
+        int total = 0;
+        for (int round = 0; round < TRIM_ROUNDS; round++) {
+            state.token.throwIfCancelled();
+            int removed = pool.submit(() -> IntStream.range(0, n).parallel()
+                    .filter(v -> {
+                        if ((v & CancellationToken.CHECK_MASK) == 0) state.token.throwIfCancelled();
+                        return state.color[v] == ROOT_COLOR
+                                && (!hasActiveNeighbor(state.forward, state.color, v)
+                                    || !hasActiveNeighbor(state.backward, state.color, v));
+                    })
+                    .map(v -> {
+                        trivial[v] = true;
+                        return 1;
+                    })
+                    .sum()).join();
+            if (removed == 0) break;
+            for (int v = 0; v < n; v++) {
+                if (trivial[v] && state.color[v] == ROOT_COLOR) {
+                    state.color[v] = DONE;
+                    state.compOf[v] = state.nextComponent.getAndIncrement();
+                }
+            }
+            total += removed;
+        }
+        return total;
+    }
+
+    private static int assignTrivial(State state, boolean[] trivial) {
+        int total = 0;
+        for (int v = 0; v < trivial.length; v++) {
+            if (trivial[v]) {
+                state.color[v] = DONE;
+                state.compOf[v] = state.nextComponent.getAndIncrement();
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private static boolean hasActiveNeighbor(CsrAdjacency adj, int[] color, int v) {
+        for (int i = adj.offsets[v]; i < adj.offsets[v + 1]; i++) {
+            int w = adj.targets[i];
+            if (w != v && color[w] == ROOT_COLOR) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Renumbers component ids in order of each component's smallest vertex.
+     *
+     * @return number of components
+     */
+    private static int renumber(int[] compOf) {
+        int[] mapping = new int[compOf.length];
+        Arrays.fill(mapping, -1);
+        int next = 0;
+        for (int v = 0; v < compOf.length; v++) {
+            int old = compOf[v];
+            if (mapping[old] == -1) mapping[old] = next++;
+            compOf[v] = mapping[old];
+        }
+        return next;
+    }
+
+    /**
+     * Shared per-vertex state. Tasks only write entries of vertices in their own partition.
+     */
+    private static final class State {
+        final CsrAdjacency forward;
+        final CsrAdjacency backward;
+        final CancellationToken token;
+        final int[] color;
+        final int[] compOf;
+        final int[] forwardStamp;
+        final int[] backwardStamp;
+        final int[] index;
+        final int[] low;
+        final boolean[] onStack;
+        final AtomicInteger nextColor = new AtomicInteger(ROOT_COLOR + 1);
+        final AtomicInteger nextComponent = new AtomicInteger();
+
+        State(CsrAdjacency forward, CsrAdjacency backward, CancellationToken token) {
+            int n = forward.getN();
+            this.forward = forward;
+            this.backward = backward;
+            this.token = token;
+            this.color = new int[n];
+            this.compOf = new int[n];
+            this.forwardStamp = new int[n];
+            this.backwardStamp = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+            this.onStack = new boolean[n];
+            Arrays.fill(color, ROOT_COLOR);
+        }
+    }
+
+    private static final class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final State state;
+        private final int[] members;
+        private final int color;
+
+        PartitionTask(State state, int[] members, int color) {
+            this.state = state;
+            this.members = members;
+            this.color = color;
+        }
+
+        @Override
+        protected void compute() {
+            state.token.throwIfCancelled();
+            if (members.length <= SEQUENTIAL_THRESHOLD) {
+                restrictedTarjan();
+                return;
+            }
+            int pivot = members[members.length / 2];
+            int[] queue = new int[members.length];
+            reach(state.forward, state.forwardStamp, pivot, queue);
+            reach(state.backward, state.backwardStamp, pivot, queue);
+
+            int forwardOnly = 0, backwardOnly = 0, rest = 0;
+            for (int v : members) {
+                boolean f = state.forwardStamp[v] == color;
+                boolean b = state.backwardStamp[v] == color;
+                if (f && !b) forwardOnly++;
+                else if (b && !f) backwardOnly++;
+                else if (!f) rest++;
+            }
+            int[] fw = new int[forwardOnly];
+            int[] bw = new int[backwardOnly];
+            int[] other = new int[rest];
+            int fwColor = state.nextColor.getAndIncrement();
+            int bwColor = state.nextColor.getAndIncrement();
+            int otherColor = state.nextColor.getAndIncrement();
+            int component = state.nextComponent.getAndIncrement();
+            int fi = 0, bi = 0, oi = 0;
+            for (int v : members) {
+                boolean f = state.forwardStamp[v] == color;
+                boolean b = state.backwardStamp[v] == color;
+                if (f && b) {
+                    state.color[v] = DONE;
+                    state.compOf[v] = component;
+                } else if (f) {
+                    state.color[v] = fwColor;
+                    fw[fi++] = v;
+                } else if (b) {
+                    state.color[v] = bwColor;
+                    bw[bi++] = v;
+                } else {
+                    state.color[v] = otherColor;
+                    other[oi++] = v;
+                }
+            }
+
+            List<PartitionTask> subtasks = new ArrayList<>(3);
+            if (fw.length > 0) subtasks.add(new PartitionTask(state, fw, fwColor));
+            if (bw.length > 0) subtasks.add(new PartitionTask(state, bw, bwColor));
+            if (other.length > 0) subtasks.add(new PartitionTask(state, other, otherColor));
+            invokeAll(subtasks);
+        }
+
+        /**
+         * Breadth-first search from the pivot restricted to this partition,
+         * stamping reached vertices with the partition color.
+         */
+        private void reach(CsrAdjacency adj, int[] stamp, int pivot, int[] queue) {
+            int head = 0, tail = 0;
+            stamp[pivot] = color;
+            queue[tail++] = pivot;
+            while (head < tail) {
+                if ((head & CancellationToken.CHECK_MASK) == 0) state.token.throwIfCancelled();
+                int v = queue[head++];
+                for (int i = adj.offsets[v]; i < adj.offsets[v + 1]; i++) {
+                    int w = adj.targets[i];
+                    if (state.color[w] == color && stamp[w] != color) {
+                        stamp[w] = color;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Iterative Tarjan search over the vertices of this partition only.
+         */
+        private void restrictedTarjan() {
+            int[] offsets = state.forward.offsets;
+            int[] targets = state.forward.targets;
+            int[] index = state.index;
+            int[] low = state.low;
+            boolean[] onStack = state.onStack;
+            int size = members.length;
+            int[] stack = new int[size];
+            int[] callStack = new int[size];
+            int[] edgeCursor = new int[size];
+            int stackSize = 0, time = 0;
+
+            for (int v : members) index[v] = -1;
+            for (int root : members) {
+                if (index[root] != -1) continue;
+                if ((time & CancellationToken.CHECK_MASK) == 0) state.token.throwIfCancelled();
+                int top = 0;
+                callStack[0] = root;
+                edgeCursor[0] = offsets[root];
+                index[root] = low[root] = time++;
+                stack[stackSize++] = root;
+                onStack[root] = true;
+
+                while (top >= 0) {
+                    int v = callStack[top];
+                    int i = edgeCursor[top];
+                    int end = offsets[v + 1];
+                    boolean descended = false;
+                    while (i < end) {
+                        int w = targets[i++];
+                        if (state.color[w] != color) continue;
+                        if (index[w] == -1) {
+                            edgeCursor[top] = i;
+                            top++;
+                            callStack[top] = w;
+                            edgeCursor[top] = offsets[w];
+                            index[w] = low[w] = time++;
+                            stack[stackSize++] = w;
+                            onStack[w] = true;
+                            descended = true;
+                            break;
+                        } else if (onStack[w] && index[w] < low[v]) {
+                            low[v] = index[w];
+                        }
+                    }
+                    if (descended) continue;
+
+                    if (low[v] == index[v]) {
+                        int component = state.nextComponent.getAndIncrement();
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            state.compOf[w] = component;
+                        } while (w != v);
+                    }
+                    top--;
+                    if (top >= 0) {
+                        int parent = callStack[top];
+                        if (low[v] < low[parent]) low[parent] = low[v];
+                    }
+                }
+            }
+            for (int v : members) state.color[v] = DONE;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Priority-driven variant of Kahn's algorithm: among all ready vertices (every
+ * dependency already emitted), the one with the highest priority is emitted
+ * next, ties going to the smaller vertex id. Ready vertices are kept in an
+ * {@link IndexedIntHeap}, so the sort runs in O((V + E) log V) with no boxing.
+ *
+ * <p>Typical priorities: {@link #remainingCriticalPath(GraphStore)} to dispatch
+ * critical tasks first, per-vertex task weights, or {@code null} for the
+ * lexicographically smallest topological order.
+ */
+public class PriorityTopologicalSort {
+
+    /**
+     * @param dag      the directed graph to sort
+     * @param priority per-vertex priority, higher first; {@code null} orders ready vertices by id
+     * @param metrics  optional metrics collector for performance tracking
+     * @return TopoResult containing the order and cycle detection status
+     * @throws IllegalArgumentException if the priority array does not match the vertex count
+     */
+    public TopoResult topologicalSort(GraphStore dag, long[] priority, Metrics metrics) {
+        return topologicalSort(dag, priority, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Cancellable variant of {@link #topologicalSort(GraphStore, long[], Metrics)};
+     * checks {@code token} once every {@value CancellationToken#CHECK_INTERVAL}
+     * emitted vertices.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled during the sort
+     */
+    public TopoResult topologicalSort(GraphStore dag, long[] priority, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        int n = dag.getN();
+        if (priority != null && priority.length != n) {
+            throw new IllegalArgumentException("Priority array length must equal vertex count");
+        }
+        CsrAdjacency adj = CsrAdjacency.of(dag);
+        int[] inDegree = new int[n];
+        for (int i = 0; i < adj.getEdgeCount(); i++) inDegree[adj.targets[i]]++;
+
+        IndexedIntHeap ready = new IndexedIntHeap(n);
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) ready.insertOrUpdate(v, key(priority, v));
+        }
+
+        List<Integer> order = new ArrayList<>(n);
+        if (metrics != null) metrics.startTimer();
+        while (!ready.isEmpty()) {
+            int emitted = order.size();
+            if ((emitted & CancellationToken.CHECK_MASK) == 0 && emitted > 0) token.checkpoint("TOPOLOGICAL_SORT", emitted, n);
+            int u = ready.poll();
+            order.add(u);
+            for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                int v = adj.targets[i];
+                if (--inDegree[v] == 0) ready.insertOrUpdate(v, key(priority, v));
+            }
+        }
+        if (metrics != null && !order.isEmpty()) metrics.incrementCounter(Metrics.TOPO_POPS, order.size());
+
+        boolean hasCycle = order.size() != n;
+        if (hasCycle && metrics != null) {
+            metrics.addCounter("CYCLE_DETECTED", 1);
+        }
+        return new TopoResult(order, hasCycle);
+    }
+
+    /**
+     * Remaining critical-path length of every vertex: the heaviest path weight
+     * from the vertex to any sink. Vertices on a cycle or upstream of one get 0.
+     *
+     * @param dag the graph
+     * @return priority array suitable for {@link #topologicalSort(GraphStore, long[], Metrics)}
+     */
+    public static long[] remainingCriticalPath(GraphStore dag) {
+        Objects.requireNonNull(dag, "Graph cannot be null");
+        int n = dag.getN();
+        CsrAdjacency reverse = CsrAdjacency.of(dag).reverse();
+        int[] outDegree = new int[n];
+        for (int i = 0; i < dag.getEdgeCount(); i++) outDegree[dag.getEdgeSource(i)]++;
+
+        long[] remaining = new long[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) if (outDegree[v] == 0) queue[tail++] = v;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = reverse.offsets[v]; i < reverse.offsets[v + 1]; i++) {
+                int u = reverse.targets[i];
+                long candidate = remaining[v] + reverse.weights[i];
+                if (candidate > remaining[u]) remaining[u] = candidate;
+                if (--outDegree[u] == 0) queue[tail++] = u;
+            }
+        }
+        if (tail != n) {
+            for (int v = 0; v < n; v++) if (outDegree[v] != 0) remaining[v] = 0;
+        }
+        return remaining;
+    }
+
+    private static long key(long[] priority, int v) {
+        return priority == null ? 0L : ~priority[v];
+    }
+}
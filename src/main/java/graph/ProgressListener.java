@@ -0,0 +1,17 @@
+package graph;
+
+/**
+ * Receives progress reports from long-running algorithms through a
+ * {@link CancellationToken}. Reports arrive at the token's check interval, not
+ * per vertex. Parallel stages may report from pool threads, so implementations
+ * must be thread-safe.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * @param task      name of the running algorithm, e.g. {@code "SCC"}
+     * @param processed vertices processed so far
+     * @param total     vertices in the input
+     */
+    void onProgress(String task, long processed, long total);
+}
@@ -0,0 +1,299 @@
+package graph;
+
+import java.util.Objects;
+
+/**
+ * Answers "can task {@code a} reach task {@code b}" (does {@code b} transitively depend
+ * on {@code a}) without a full traversal per query. The index is built over the
+ * condensation DAG; vertices of the original graph are mapped through
+ * {@link SCCResult#getComponentOf()}, and two vertices in the same component
+ * always reach each other.
+ *
+ * <p>Two strategies, chosen by condensation size {@code k}:
+ * <ul>
+ *   <li>{@code k <= }{@link #CLOSURE_MAX_VERTICES}: full transitive closure as
+ *       bitsets. Build O(k * (k + E) / 64), memory {@code k * k / 8} bytes (8 MB at
+ *       the limit), queries are a single bit test.</li>
+ *   <li>larger DAGs: interval labels (GRAIL-style). {@link #LABEL_COUNT} randomized
+ *       DFS traversals give each vertex nested post-order intervals. The first
+ *       traversal's spanning tree also gives exact tree-cover positives. Topological
+ *       levels add another cheap negative filter. Build O(LABEL_COUNT * (k + E)),
+ *       memory about {@code (2 * LABEL_COUNT + 3) * 4} bytes per component plus the
+ *       CSR. Most queries are answered by the O(1) filters. The rest fall back
+ *       to a DFS that only enters vertices whose intervals contain the target.</li>
+ * </ul>
+ * Instances are immutable after construction and safe for concurrent queries.
+ * The cancellable {@code build} checks its token once per closure row and once
+ * per {@value CancellationToken#CHECK_INTERVAL} vertices of every other pass.
+ */
+public class ReachabilityIndex {
+    static final int CLOSURE_MAX_VERTICES = 8192;
+    static final int LABEL_COUNT = 3;
+
+    private final int[] componentOf;
+    private final int k;
+
+    private final long[] closure;
+    private final int words;
+
+    private final CsrAdjacency adj;
+    private final int[] level;
+    private final int[] low;
+    private final int[] post;
+    private final int[] treePre;
+
+    private ReachabilityIndex(int[] componentOf, int k, long[] closure, int words, CsrAdjacency adj,
+                              int[] level, int[] low, int[] post, int[] treePre) {
+        this.componentOf = componentOf;
+        this.k = k;
+        this.closure = closure;
+        this.words = words;
+        this.adj = adj;
+        this.level = level;
+        this.low = low;
+        this.post = post;
+        this.treePre = treePre;
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param condensation the condensation DAG (one vertex per component)
+     * @param componentOf  mapping from original vertices to condensation vertices
+     * @return the reachability index
+     * @throws IllegalArgumentException if the condensation contains a cycle or the mapping is out of range
+     */
+    public static ReachabilityIndex build(GraphStore condensation, int[] componentOf) {
+        return build(condensation, componentOf, CancellationToken.NONE);
+    }
+
+    /**
+     * Builds the index, checking {@code token} while it does.
+     *
+     * @param condensation the condensation DAG (one vertex per component)
+     * @param componentOf  mapping from original vertices to condensation vertices
+     * @param token        cancellation token
+     * @return the reachability index
+     * @throws IllegalArgumentException if the condensation contains a cycle or the mapping is out of range
+     * @throws AnalysisCancelledException if the token is cancelled during the build
+     */
+    public static ReachabilityIndex build(GraphStore condensation, int[] componentOf, CancellationToken token) {
+        Objects.requireNonNull(condensation, "Condensation graph cannot be null");
+        Objects.requireNonNull(componentOf, "Component mapping cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        int k = condensation.getN();
+        for (int c : componentOf) {
+            if (c < 0 || c >= k) throw new IllegalArgumentException("Invalid component id: " + c);
+        }
+        CsrAdjacency adj = CsrAdjacency.of(condensation);
+        int[] order = topologicalOrder(adj, token);
+
+        if (k <= CLOSURE_MAX_VERTICES) {
+            int words = (k + 63) >>> 6;
+            long[] closure = new long[k * words];
+            for (int idx = k - 1; idx >= 0; idx--) {
+                token.throwIfCancelled();
+                int u = order[idx];
+                int base = u * words;
+                for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                    int w = adj.targets[i];
+                    int wBase = w * words;
+                    for (int j = 0; j < words; j++) closure[base + j] |= closure[wBase + j];
+                    closure[base + (w >>> 6)] |= 1L << (w & 63);
+                }
+            }
+            return new ReachabilityIndex(componentOf.clone(), k, closure, words, null, null, null, null, null);
+        }
+
+        int[] level = new int[k];
+        for (int idx = 0; idx < k; idx++) {
+            if ((idx & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+            int u = order[idx];
+            for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                int w = adj.targets[i];
+                if (level[u] + 1 > level[w]) level[w] = level[u] + 1;
+            }
+        }
+        int[] low = new int[LABEL_COUNT * k];
+        int[] post = new int[LABEL_COUNT * k];
+        int[] treePre = new int[k];
+        for (int t = 0; t < LABEL_COUNT; t++) {
+            label(adj, t, low, post, t == 0 ? treePre : null, token);
+        }
+        return new ReachabilityIndex(componentOf.clone(), k, null, 0, adj, level, low, post, treePre);
+    }
+
+    /**
+     * @param from original vertex
+     * @param to   original vertex
+     * @return true if a directed path leads from {@code from} to {@code to}
+     */
+    public boolean canReach(int from, int to) {
+        if (from < 0 || from >= componentOf.length || to < 0 || to >= componentOf.length) {
+            throw new IllegalArgumentException("Vertex out of bounds");
+        }
+        return canReachComponent(componentOf[from], componentOf[to]);
+    }
+
+    /**
+     * @param from condensation vertex
+     * @param to   condensation vertex
+     * @return true if {@code to} is reachable from {@code from} in the condensation
+     */
+    public boolean canReachComponent(int from, int to) {
+        if (from < 0 || from >= k || to < 0 || to >= k) throw new IllegalArgumentException("Component out of bounds");
+        if (from == to) return true;
+        if (closure != null) {
+            return (closure[from * words + (to >>> 6)] & (1L << (to & 63))) != 0;
+        }
+        if (level[from] >= level[to]) return false;
+        if (!labelsContain(from, to)) return false;
+        if (treePre[from] <= treePre[to] && post[to] <= post[from]) return true;
+        return prunedSearch(from, to);
+    }
+
+    /**
+     * @return approximate heap bytes held by the index
+     */
+    public long getMemoryBytes() {
+        long bytes = (long) componentOf.length * Integer.BYTES;
+        if (closure != null) return bytes + (long) closure.length * Long.BYTES;
+        bytes += (adj.offsets.length + 2L * adj.getEdgeCount()) * Integer.BYTES;
+        bytes += (long) (level.length + low.length + post.length + treePre.length) * Integer.BYTES;
+        return bytes;
+    }
+
+    public boolean usesFullClosure() {
+        return closure != null;
+    }
+
+    private boolean labelsContain(int u, int v) {
+        for (int t = 0; t < LABEL_COUNT; t++) {
+            int ui = t * k + u, vi = t * k + v;
+            if (low[vi] < low[ui] || post[vi] > post[ui]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * DFS that only enters vertices whose labels allow reaching {@code to}. The
+     * visited flags and stack come from a pooled {@link SearchWorkspace}, so
+     * the index keeps no per-thread buffers alive in long-lived worker threads.
+     */
+    private boolean prunedSearch(int from, int to) {
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(k)) {
+            boolean[] visited = workspace.flags();
+            int[] stack = workspace.ints(0);
+            int top = 0;
+            stack[top++] = from;
+            visited[from] = true;
+            int targetLevel = level[to];
+            while (top > 0) {
+                int u = stack[--top];
+                for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                    int w = adj.targets[i];
+                    if (w == to) return true;
+                    if (visited[w] || level[w] >= targetLevel || !labelsContain(w, to)) continue;
+                    visited[w] = true;
+                    stack[top++] = w;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * One randomized post-order traversal. Children are visited starting at a
+     * per-vertex pseudo-random rotation, so different traversals produce
+     * different intervals without shuffling adjacency lists.
+     */
+    private static void label(CsrAdjacency adj, int traversal, int[] low, int[] post, int[] treePre,
+                              CancellationToken token) {
+        int k = adj.getN();
+        int base = traversal * k;
+        boolean[] visited = new boolean[k];
+        int[] callStack = new int[k];
+        int[] consumed = new int[k];
+        int rank = 0, preCounter = 0;
+        int[] roots = new int[k];
+        for (int i = 0; i < k; i++) roots[i] = i;
+        if (traversal > 0) {
+            long seed = 0x9E3779B97F4A7C15L * (traversal + 1);
+            for (int i = k - 1; i > 0; i--) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                int j = (int) ((seed >>> 33) % (i + 1));
+                int tmp = roots[i];
+                roots[i] = roots[j];
+                roots[j] = tmp;
+            }
+        }
+
+        for (int r = 0; r < k; r++) {
+            int root = roots[r];
+            if (visited[root]) continue;
+            int top = 0;
+            callStack[0] = root;
+            consumed[0] = 0;
+            visited[root] = true;
+            low[base + root] = Integer.MAX_VALUE;
+            if (treePre != null) treePre[root] = preCounter++;
+            while (top >= 0) {
+                int v = callStack[top];
+                int start = adj.offsets[v];
+                int degree = adj.offsets[v + 1] - start;
+                boolean descended = false;
+                while (consumed[top] < degree) {
+                    int rotation = traversal == 0 ? 0 : mix(v, traversal) % degree;
+                    int w = adj.targets[start + (consumed[top]++ + rotation) % degree];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        low[base + w] = Integer.MAX_VALUE;
+                        if (treePre != null) treePre[w] = preCounter++;
+                        top++;
+                        callStack[top] = w;
+                        consumed[top] = 0;
+                        descended = true;
+                        break;
+                    }
+                    if (low[base + w] < low[base + v]) low[base + v] = low[base + w];
+                }
+                if (descended) continue;
+
+                if ((rank & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+                post[base + v] = rank;
+                if (rank < low[base + v]) low[base + v] = rank;
+                rank++;
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    if (low[base + v] < low[base + parent]) low[base + parent] = low[base + v];
+                }
+            }
+        }
+    }
+
+    private static int mix(int v, int traversal) {
+        int h = v * 0x9E3779B1 + traversal * 0x85EBCA6B;
+        h ^= h >>> 15;
+        return h & Integer.MAX_VALUE;
+    }
+
+    private static int[] topologicalOrder(CsrAdjacency adj, CancellationToken token) {
+        int k = adj.getN();
+        int[] inDegree = new int[k];
+        for (int i = 0; i < adj.getEdgeCount(); i++) inDegree[adj.targets[i]]++;
+        int[] order = new int[k];
+        int head = 0, tail = 0;
+        for (int v = 0; v < k; v++) if (inDegree[v] == 0) order[tail++] = v;
+        while (head < tail) {
+            if ((head & CancellationToken.CHECK_MASK) == 0) token.throwIfCancelled();
+            int u = order[head++];
+            for (int i = adj.offsets[u]; i < adj.offsets[u + 1]; i++) {
+                if (--inDegree[adj.targets[i]] == 0) order[tail++] = adj.targets[i];
+            }
+        }
+        if (tail != k) throw new IllegalArgumentException("Reachability index requires a DAG");
+        return order;
+    }
+}
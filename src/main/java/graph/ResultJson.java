@@ -0,0 +1,92 @@
+package graph;
+
+import java.util.List;
+
+/**
+ * Formats analysis results as compact JSON for the server and result files.
+ */
+public final class ResultJson {
+
+    private ResultJson() {
+    }
+
+    public static String scc(SCCResult result) {
+        StringBuilder sb = new StringBuilder();
+        List<List<Integer>> components = result.getComponents();
+        sb.append("{\"count\":").append(components.size()).append(",\"components\":[");
+        for (int i = 0; i < components.size(); i++) {
+            if (i > 0) sb.append(',');
+            appendIntList(sb, components.get(i));
+        }
+        sb.append("],\"componentOf\":");
+        appendIntArray(sb, result.getComponentOf());
+        return sb.append('}').toString();
+    }
+
+    public static String topo(TopoResult result) {
+        StringBuilder sb = new StringBuilder("{\"order\":");
+        appendIntList(sb, result.getOrder());
+        return sb.append(",\"hasCycle\":").append(result.hasCycle()).append('}').toString();
+    }
+
+    public static String criticalPath(CriticalPathResult result) {
+        StringBuilder sb = new StringBuilder("{\"path\":");
+        appendIntList(sb, result.getPath());
+        return sb.append(",\"totalWeight\":").append(result.getTotalWeight()).append('}').toString();
+    }
+
+    /**
+     * @param distances   distance per vertex
+     * @param unreachable sentinel value that is written as {@code null}
+     */
+    public static String distances(int source, int[] distances, int unreachable) {
+        StringBuilder sb = new StringBuilder("{\"source\":").append(source).append(",\"distances\":[");
+        for (int i = 0; i < distances.length; i++) {
+            if (i > 0) sb.append(',');
+            if (distances[i] == unreachable) sb.append("null");
+            else sb.append(distances[i]);
+        }
+        return sb.append("]}").toString();
+    }
+
+    public static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    public static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    static void appendIntList(StringBuilder sb, List<Integer> values) {
+        sb.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values.get(i).intValue());
+        }
+        sb.append(']');
+    }
+
+    static void appendIntArray(StringBuilder sb, int[] values) {
+        sb.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(values[i]);
+        }
+        sb.append(']');
+    }
+}
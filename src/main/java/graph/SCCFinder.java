@@ -1,5 +1,24 @@
 package graph;
 
+import java.util.Objects;
+
+/**
+ * Strongly connected component search. Implementations keep no per-call state,
+ * so a single instance may serve concurrent calls.
+ */
 public interface SCCFinder {
-    SCCResult findSCCs(Graph graph, Metrics metrics);
+    SCCResult findSCCs(GraphStore graph, Metrics metrics);
+
+    /**
+     * Cancellable variant. Implementations that check the token inside their
+     * search override this; the default only checks it before starting.
+     *
+     * @param token cancellation and progress token, checked at coarse intervals
+     * @throws AnalysisCancelledException if the token is cancelled before the search completes
+     */
+    default SCCResult findSCCs(GraphStore graph, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        return findSCCs(graph, metrics);
+    }
 }
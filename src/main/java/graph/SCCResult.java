@@ -14,12 +14,30 @@ public class SCCResult {
         this.componentOf = componentOf.clone();
     }
 
+    /**
+     * Builds a result from a vertex-to-component mapping whose ids are
+     * already dense in {@code [0, componentCount)}.
+     */
+    static SCCResult fromComponentIds(int[] componentOf, int componentCount) {
+        List<List<Integer>> components = new ArrayList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) components.add(new ArrayList<>());
+        for (int v = 0; v < componentOf.length; v++) components.get(componentOf[v]).add(v);
+        return new SCCResult(components, componentOf);
+    }
+
     public List<List<Integer>> getComponents() {
         List<List<Integer>> copy = new ArrayList<>();
         for (List<Integer> comp : components) copy.add(Collections.unmodifiableList(comp));
         return Collections.unmodifiableList(copy);
     }
 
+    /**
+     * @return number of components, without copying them
+     */
+    public int getComponentCount() {
+        return components.size();
+    }
+
     public int[] getComponentOf() {
         return componentOf.clone();
     }
@@ -0,0 +1,368 @@
+package graph;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * End-to-end scaling benchmark. Runs every stage of the pipeline (through
+ * {@link GraphAnalysis}, as {@link SchedulerApplication} does) over generated
+ * graphs of 10<sup>3</sup>, 10<sup>4</sup>, ... vertices, records time and
+ * allocation per stage, and fits each stage's growth as
+ * {@code time ~ (V + E)^k} by least squares on the log-log points. A linear
+ * stage has {@code k} close to 1; an accidental quadratic scan shows up as
+ * {@code k} near 2 long before it is slow on the sizes tests use.
+ *
+ * <p>Sizes grow by a factor of 10<sup>1/{@value #SIZES_PER_DECADE}</sup>, every
+ * size is run {@value #REPEATS} times and each stage keeps its median run.
+ * Exponents are fitted over the largest decade of sizes, on wall time with
+ * GC pauses taken out (see {@link #computeNanos(StageStats)}). Timings below
+ * {@link #NOISE_FLOOR_NANOS} are left out, and a stage needs
+ * {@value #MIN_FIT_POINTS} usable sizes before it gets an exponent. Every run
+ * fails when a stage's exponent exceeds {@link #MAX_EXPONENT}, with or without
+ * a baseline. Transitive reduction is superlinear by design and opt-in in the
+ * pipeline, so it is not measured.
+ *
+ * <p>A baseline properties file, written with {@code --write-baseline}, stores
+ * the exponents and the per-element time (GC excluded, like the fit) and
+ * allocation at the largest size.
+ * A run against it also fails when an exponent grows by more than
+ * {@link #EXPONENT_TOLERANCE} or a per-element cost grows by more than the
+ * threshold factor. Per-element costs are machine specific, so baselines are
+ * not shared: write one on the machine that checks against it.
+ *
+ * <pre>
+ * java -cp target/classes graph.ScalingBenchmark [--max-vertices N] [--baseline file]
+ *      [--write-baseline file] [--threshold factor] [--max-seconds s]
+ * </pre>
+ */
+public class ScalingBenchmark {
+    static final double DEFAULT_THRESHOLD = 1.5;
+    static final double EXPONENT_TOLERANCE = 0.25;
+    /**
+     * Highest growth exponent any stage may have. Linear stages fit at 1.0 to
+     * about 1.25 over the largest decade, the excess coming from cache misses
+     * once the arrays outgrow the last-level cache; an O(n log n) stage stays
+     * near 1.1 and a quadratic one near 2.
+     */
+    static final double MAX_EXPONENT = 1.3;
+    static final int DEFAULT_MAX_VERTICES = 10_000_000;
+    static final int MIN_VERTICES = 1_000;
+    static final int AVERAGE_DEGREE = 4;
+    static final int SIZES_PER_DECADE = 3;
+    static final int MIN_FIT_POINTS = 3;
+    /** Timings below this are dominated by noise and left out of the fit. */
+    static final long NOISE_FLOOR_NANOS = 2_000_000;
+    static final int REPEATS = 5;
+    private static final int WARMUP_RUNS = 3;
+    private static final long SEED = 42;
+
+    /**
+     * Stage measurements for one graph size.
+     */
+    public static final class Sample {
+        private final int vertices;
+        private final long elements;
+        private final Map<String, StageStats> stages;
+
+        Sample(int vertices, long elements, Map<String, StageStats> stages) {
+            this.vertices = vertices;
+            this.elements = elements;
+            this.stages = stages;
+        }
+
+        public int getVertices() {
+            return vertices;
+        }
+
+        /**
+         * @return V + E of the input graph
+         */
+        public long getElements() {
+            return elements;
+        }
+
+        public Map<String, StageStats> getStages() {
+            return stages;
+        }
+    }
+
+    private final DatasetGenerator generator = new DatasetGenerator();
+
+    /**
+     * Runs the pipeline once on a generated graph of {@code n} vertices.
+     */
+    public Sample measure(int n) {
+        return measure(generator.generateScalingGraph(n, AVERAGE_DEGREE, SEED));
+    }
+
+    private static Sample measure(FrozenGraph graph) {
+        int n = graph.getN();
+        Metrics metrics = new Metrics();
+        GraphAnalysis analysis = new GraphAnalysis(graph, metrics);
+        analysis.getSCCs();
+        analysis.getCondensation();
+        analysis.getTopologicalOrder();
+        analysis.getCriticalPath();
+        analysis.getShortestPaths();
+        analysis.getLongestPaths();
+        return new Sample(n, (long) n + graph.getEdgeCount(), metrics.getStages());
+    }
+
+    /**
+     * Measures sizes {@code minVertices * 10^(i / SIZES_PER_DECADE)} up to
+     * {@code maxVertices}, stopping early once one size took longer than
+     * {@code maxSeconds}. Each size is run {@value #REPEATS} times on the same
+     * generated graph and keeps the median run of every stage, after warming up
+     * the JIT on a mid-sized graph.
+     */
+    public List<Sample> run(int minVertices, int maxVertices, long maxSeconds) {
+        if (minVertices < 1 || maxVertices < minVertices) throw new IllegalArgumentException("Invalid size range");
+        int warmupSize = (int) Math.min(maxVertices, 10L * minVertices);
+        for (int i = 0; i < WARMUP_RUNS; i++) measure(warmupSize);
+        List<Sample> samples = new ArrayList<>();
+        for (int step = 0; ; step++) {
+            long n = Math.round(minVertices * Math.pow(10, (double) step / SIZES_PER_DECADE));
+            if (n > maxVertices) break;
+            long start = System.nanoTime();
+            FrozenGraph graph = generator.generateScalingGraph((int) n, AVERAGE_DEGREE, SEED);
+            List<Sample> runs = new ArrayList<>(REPEATS);
+            for (int i = 0; i < REPEATS; i++) runs.add(measure(graph));
+            samples.add(median(runs));
+            if ((System.nanoTime() - start) / 1_000_000_000L > maxSeconds) break;
+        }
+        return samples;
+    }
+
+    /**
+     * @return per stage, the run with the median {@link #computeNanos(StageStats) compute time}
+     */
+    static Sample median(List<Sample> runs) {
+        Sample first = runs.get(0);
+        Map<String, StageStats> stages = new LinkedHashMap<>();
+        for (String stage : first.getStages().keySet()) {
+            List<StageStats> stats = new ArrayList<>(runs.size());
+            for (Sample run : runs) {
+                StageStats s = run.getStages().get(stage);
+                if (s != null) stats.add(s);
+            }
+            stats.sort(Comparator.comparingLong(ScalingBenchmark::computeNanos));
+            stages.put(stage, stats.get(stats.size() / 2));
+        }
+        return new Sample(first.getVertices(), first.getElements(), stages);
+    }
+
+    /**
+     * Least-squares slope of {@code log(y)} over {@code log(x)}, ignoring points
+     * with non-positive values.
+     *
+     * @return fitted exponent, or NaN with fewer than two usable points
+     */
+    static double fitExponent(long[] x, long[] y) {
+        int count = 0;
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        for (int i = 0; i < x.length; i++) {
+            if (x[i] <= 0 || y[i] <= 0) continue;
+            double lx = Math.log(x[i]);
+            double ly = Math.log(y[i]);
+            sumX += lx;
+            sumY += ly;
+            sumXX += lx * lx;
+            sumXY += lx * ly;
+            count++;
+        }
+        double denominator = count * sumXX - sumX * sumX;
+        if (count < 2 || denominator == 0) return Double.NaN;
+        return (count * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * Fits each stage over the largest decade of sizes only: fixed per-call costs
+     * and JIT effects flatten the small sizes, and a global fit would average a
+     * superlinear tail away.
+     *
+     * @return fitted time exponent per stage; stages with fewer than
+     *         {@value #MIN_FIT_POINTS} timings above {@link #NOISE_FLOOR_NANOS} are left out
+     */
+    static Map<String, Double> exponents(List<Sample> samples) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        long largest = samples.get(samples.size() - 1).getElements();
+        for (String stage : samples.get(samples.size() - 1).getStages().keySet()) {
+            long[] x = new long[samples.size()];
+            long[] y = new long[samples.size()];
+            int points = 0;
+            for (int i = 0; i < samples.size(); i++) {
+                if (samples.get(i).getElements() * 10 < largest) continue;
+                StageStats stats = samples.get(i).getStages().get(stage);
+                if (stats == null || computeNanos(stats) < NOISE_FLOOR_NANOS) continue;
+                x[i] = samples.get(i).getElements();
+                y[i] = computeNanos(stats);
+                points++;
+            }
+            if (points < MIN_FIT_POINTS) continue;
+            double exponent = fitExponent(x, y);
+            if (!Double.isNaN(exponent)) result.put(stage, exponent);
+        }
+        return result;
+    }
+
+    static Properties toBaseline(List<Sample> samples) {
+        Sample largest = samples.get(samples.size() - 1);
+        Properties baseline = new Properties();
+        baseline.setProperty("maxVertices", Integer.toString(largest.getVertices()));
+        for (Map.Entry<String, Double> entry : exponents(samples).entrySet()) {
+            baseline.setProperty("exponent." + entry.getKey(), String.format(Locale.ROOT, "%.3f", entry.getValue()));
+        }
+        for (StageStats stats : largest.getStages().values()) {
+            baseline.setProperty("nanosPerElement." + stats.getName(),
+                    String.format(Locale.ROOT, "%.3f", (double) computeNanos(stats) / largest.getElements()));
+            if (stats.getAllocatedBytes() >= 0) {
+                baseline.setProperty("bytesPerElement." + stats.getName(),
+                        String.format(Locale.ROOT, "%.3f", (double) stats.getAllocatedBytes() / largest.getElements()));
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Wall time minus the GC pauses that fell into the stage. Pause lengths
+     * depend on heap size and collector rather than on the stage's algorithm,
+     * and a single full GC at one size is enough to tilt a fit.
+     */
+    static long computeNanos(StageStats stats) {
+        return Math.max(1, stats.getWallNanos() - stats.getGcTimeMillis() * 1_000_000);
+    }
+
+    /**
+     * Checks every fitted exponent against {@link #MAX_EXPONENT}. Unlike a
+     * baseline comparison this needs no reference run, so it catches a stage
+     * that was superlinear from the start.
+     *
+     * @return one message per stage above the ceiling; empty if none
+     */
+    static List<String> checkCeiling(List<Sample> samples) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : exponents(samples).entrySet()) {
+            if (entry.getValue() > MAX_EXPONENT) {
+                violations.add(String.format(Locale.ROOT, "%s: growth exponent %.2f exceeds %.2f",
+                        entry.getKey(), entry.getValue(), MAX_EXPONENT));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Compares a run against a baseline.
+     *
+     * @param threshold allowed growth factor of per-element time and allocation
+     * @return one message per regression; empty if none
+     */
+    static List<String> compare(List<Sample> samples, Properties baseline, double threshold) {
+        Objects.requireNonNull(baseline, "Baseline cannot be null");
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : exponents(samples).entrySet()) {
+            String expected = baseline.getProperty("exponent." + entry.getKey());
+            if (expected != null && entry.getValue() > Double.parseDouble(expected) + EXPONENT_TOLERANCE) {
+                regressions.add(String.format(Locale.ROOT, "%s: growth exponent %.2f, baseline %s", entry.getKey(), entry.getValue(), expected));
+            }
+        }
+
+        Sample largest = samples.get(samples.size() - 1);
+        if (!Integer.toString(largest.getVertices()).equals(baseline.getProperty("maxVertices"))) {
+            return regressions;
+        }
+        for (StageStats stats : largest.getStages().values()) {
+            checkPerElement(regressions, baseline, "nanosPerElement." + stats.getName(),
+                    (double) computeNanos(stats) / largest.getElements(), threshold);
+            if (stats.getAllocatedBytes() >= 0) {
+                checkPerElement(regressions, baseline, "bytesPerElement." + stats.getName(),
+                        (double) stats.getAllocatedBytes() / largest.getElements(), threshold);
+            }
+        }
+        return regressions;
+    }
+
+    private static void checkPerElement(List<String> regressions, Properties baseline, String key,
+                                        double actual, double threshold) {
+        String expected = baseline.getProperty(key);
+        if (expected != null && actual > Double.parseDouble(expected) * threshold) {
+            regressions.add(String.format(Locale.ROOT, "%s: %.3f, baseline %s", key, actual, expected));
+        }
+    }
+
+    private static void printReport(List<Sample> samples) {
+        System.out.println("=== Scaling Benchmark ===");
+        for (Sample sample : samples) {
+            System.out.println("V=" + sample.getVertices() + ", V+E=" + sample.getElements());
+            for (StageStats stats : sample.getStages().values()) {
+                System.out.println("  " + stats);
+            }
+        }
+        System.out.println("--- Growth exponents over the largest decade (time excluding GC ~ (V+E)^k) ---");
+        for (Map.Entry<String, Double> entry : exponents(samples).entrySet()) {
+            System.out.println(String.format(Locale.ROOT, "  %s: k=%.2f", entry.getKey(), entry.getValue()));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int maxVertices = DEFAULT_MAX_VERTICES;
+        double threshold = DEFAULT_THRESHOLD;
+        long maxSeconds = 120;
+        Path baselinePath = null;
+        Path writePath = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--max-vertices": maxVertices = Integer.parseInt(args[++i]); break;
+                case "--threshold": threshold = Double.parseDouble(args[++i]); break;
+                case "--max-seconds": maxSeconds = Long.parseLong(args[++i]); break;
+                case "--baseline": baselinePath = Paths.get(args[++i]); break;
+                case "--write-baseline": writePath = Paths.get(args[++i]); break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        List<Sample> samples = new ScalingBenchmark().run(MIN_VERTICES, maxVertices, maxSeconds);
+        printReport(samples);
+        List<String> violations = checkCeiling(samples);
+
+        if (writePath != null) {
+            try (Writer writer = Files.newBufferedWriter(writePath, StandardCharsets.UTF_8)) {
+                toBaseline(samples).store(writer, "ScalingBenchmark baseline");
+            }
+            System.out.println("Baseline written to " + writePath);
+        }
+        List<String> regressions = new ArrayList<>();
+        if (baselinePath != null) {
+            Properties baseline = new Properties();
+            try (Reader reader = Files.newBufferedReader(baselinePath, StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+            regressions = compare(samples, baseline, threshold);
+        }
+        if (!violations.isEmpty()) {
+            System.err.println("Stages above the growth exponent ceiling:");
+            for (String violation : violations) System.err.println("  " + violation);
+        }
+        if (!regressions.isEmpty()) {
+            System.err.println("Regressions against " + baselinePath + ":");
+            for (String regression : regressions) System.err.println("  " + regression);
+        }
+        if (!violations.isEmpty() || !regressions.isEmpty()) System.exit(1);
+        System.out.println(baselinePath == null ? "All stages within the growth exponent ceiling"
+                : "No regressions against " + baselinePath);
+    }
+}
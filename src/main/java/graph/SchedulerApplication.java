@@ -1,113 +1,210 @@
 package graph;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public class SchedulerApplication {
+    private static final String STDIN_ARG = "-";
+    private static final String SERVE_ARG = "--serve";
+    private static final String OUTPUT_ARG = "--output";
+    private static final String TIMEOUT_ARG = "--timeout-ms";
+    private static final String REDUCE_ARG = "--reduce";
+
     private final JSONParser parser;
-    private final TarjanSCC sccFinder;
-    private final KahnTopologicalSort topoSort;
-    private final CriticalPathFinder criticalPathFinder;
-    private final DAGShortestPath shortestPathFinder;
+    private final PrintStream out;
+    private final CancellationToken token;
+    private final boolean reduce;
 
     public SchedulerApplication() {
+        this(System.out);
+    }
+
+    /**
+     * @param out where the pipeline report is written
+     */
+    public SchedulerApplication(PrintStream out) {
+        this(out, CancellationToken.NONE);
+    }
+
+    /**
+     * @param out   where the pipeline report is written
+     * @param token bounds the analysis; a cancelled run throws {@link AnalysisCancelledException}
+     */
+    public SchedulerApplication(PrintStream out, CancellationToken token) {
+        this(out, token, false);
+    }
+
+    /**
+     * @param out    where the pipeline report is written
+     * @param token  bounds the analysis; a cancelled run throws {@link AnalysisCancelledException}
+     * @param reduce whether to also run the transitive reduction of the condensation,
+     *               which is much slower than every other stage on large graphs
+     */
+    public SchedulerApplication(PrintStream out, CancellationToken token, boolean reduce) {
         this.parser = new JSONParser();
-        this.sccFinder = new TarjanSCC();
-        this.topoSort = new KahnTopologicalSort();
-        this.criticalPathFinder = new CriticalPathFinder();
-        this.shortestPathFinder = new DAGShortestPath();
+        this.out = Objects.requireNonNull(out, "Output cannot be null");
+        this.token = Objects.requireNonNull(token, "Token cannot be null");
+        this.reduce = reduce;
     }
 
     public void runPipeline(String jsonFilePath) {
-        System.out.println("=== DAG SCC Scheduler Application ===\n");
+        Metrics metrics = new Metrics();
+        metrics.startTimer();
+        runPipeline(parser.parseGraphFile(jsonFilePath), metrics);
+    }
 
+    /**
+     * Builds the graph from a stream of edges (plain {@code u v w} lines or NDJSON)
+     * and runs the pipeline as soon as the stream ends.
+     *
+     * @param edgeStream stream of edges, e.g. {@code System.in}; gzip input is detected
+     *                   by its magic bytes and inflated on a background thread
+     * @param directed   whether the streamed edges are directed
+     * @see EdgeStreamReader
+     */
+    public void runPipeline(InputStream edgeStream, boolean directed) {
         Metrics metrics = new Metrics();
         metrics.startTimer();
+        OffHeapGraph graph;
+        try {
+            graph = new EdgeStreamReader().read(GraphIO.decompressing(edgeStream), directed);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read edge stream", e);
+        }
+        try (graph) {
+            runPipeline(graph, metrics);
+        }
+    }
+
+    private void runPipeline(GraphStore originalGraph, Metrics metrics) {
+        out.println("=== DAG SCC Scheduler Application ===\n");
 
-        Graph originalGraph = parser.parseTasksJSON(jsonFilePath);
-        System.out.println("1. Loaded Graph:");
-        System.out.println("   " + originalGraph);
-        System.out.println("   Source Vertex: " + originalGraph.getSource());
-        System.out.println();
+        out.println("1. Loaded Graph:");
+        out.println("   " + originalGraph);
+        out.println("   Source Vertex: " + originalGraph.getSource());
+        out.println();
 
-        SCCResult sccResult = sccFinder.findSCCs(originalGraph, metrics);
-        List<List<Integer>> components = sccResult.getComponents();
-        System.out.println("2. Strongly Connected Components:");
-        System.out.println("   Found " + components.size() + " component(s)");
+        GraphAnalysis analysis = new GraphAnalysis(originalGraph, metrics, null, token);
+        List<List<Integer>> components = analysis.getSCCs().getComponents();
+        out.println("2. Strongly Connected Components:");
+        out.println("   Found " + components.size() + " component(s)");
         for (int i = 0; i < components.size(); i++) {
-            System.out.println("   Component " + i + ": " + components.get(i));
+            out.println("   Component " + i + ": " + components.get(i));
         }
-        metrics.addCounter(Metrics.SCC_COMPONENTS, components.size());
-        System.out.println();
-
-        Graph condensationGraph = sccFinder.buildCondensationGraph(originalGraph, components, metrics);
-        System.out.println("3. Condensation Graph (DAG):");
-        System.out.println("   " + condensationGraph);
-        System.out.println("   Edges: " + condensationGraph.getEdges().size());
-        System.out.println();
+        out.println();
+
+        FrozenGraph condensationGraph = analysis.getCondensation();
+        out.println("3. Condensation Graph (DAG):");
+        out.println("   " + condensationGraph);
+        out.println("   Edges: " + condensationGraph.getEdgeCount());
+        if (reduce) {
+            out.println("   Edges after transitive reduction: " + analysis.getReducedCondensation().getEdgeCount());
+        }
+        out.println();
 
-        TopoResult topoResult = topoSort.topologicalSort(condensationGraph, metrics);
+        LevelResult levels = analysis.getLevels();
+        TopoResult topoResult = analysis.getTopologicalOrder();
         List<Integer> topoOrder = topoResult.getOrder();
-        System.out.println("4. Topological Order:");
-        System.out.println("   " + topoOrder);
-        System.out.println("   Has Cycle: " + topoResult.hasCycle());
-        System.out.println();
+        out.println("4. Topological Order:");
+        out.println("   " + topoOrder);
+        out.println("   Has Cycle: " + topoResult.hasCycle());
+        out.println("   Levels (batch widths): " + Arrays.toString(levels.getLevelWidths()));
+        out.println();
 
-        CriticalPathResult criticalPath = criticalPathFinder.findCriticalPath(condensationGraph, metrics);
+        CriticalPathResult criticalPath = analysis.getCriticalPath();
         List<Integer> path = criticalPath.getPath();
-        System.out.println("5. Critical Path (Longest Path):");
-        System.out.println("   Path: " + path);
-        System.out.println("   Total Weight: " + criticalPath.getTotalWeight());
-        metrics.addCounter(Metrics.CRITICAL_PATH_LENGTH, criticalPath.getTotalWeight());
-        System.out.println();
+        out.println("5. Critical Path (Longest Path):");
+        out.println("   Path: " + path);
+        out.println("   Total Weight: " + criticalPath.getTotalWeight());
+        out.println();
 
         int sourceVertex = condensationGraph.getSource();
-        int[] shortestPaths = shortestPathFinder.findShortestPaths(condensationGraph, sourceVertex, metrics);
-        System.out.println("6. Shortest Paths from Source (" + sourceVertex + "):");
+        int[] shortestPaths = analysis.getShortestPaths();
+        out.println("6. Shortest Paths from Source (" + sourceVertex + "):");
         for (int i = 0; i < shortestPaths.length; i++) {
             if (shortestPaths[i] == Integer.MAX_VALUE / 2) {
-                System.out.println("   To vertex " + i + ": INF (unreachable)");
+                out.println("   To vertex " + i + ": INF (unreachable)");
             } else {
-                System.out.println("   To vertex " + i + ": " + shortestPaths[i]);
+                out.println("   To vertex " + i + ": " + shortestPaths[i]);
             }
         }
-        System.out.println();
+        out.println();
 
-        int[] longestPaths = shortestPathFinder.findLongestPaths(condensationGraph, sourceVertex, metrics);
-        System.out.println("7. Longest Paths from Source (" + sourceVertex + "):");
+        int[] longestPaths = analysis.getLongestPaths();
+        out.println("7. Longest Paths from Source (" + sourceVertex + "):");
         for (int i = 0; i < longestPaths.length; i++) {
             if (longestPaths[i] == Integer.MIN_VALUE / 2) {
-                System.out.println("   To vertex " + i + ": -INF (unreachable)");
+                out.println("   To vertex " + i + ": -INF (unreachable)");
             } else {
-                System.out.println("   To vertex " + i + ": " + longestPaths[i]);
+                out.println("   To vertex " + i + ": " + longestPaths[i]);
             }
         }
-        System.out.println();
-
-        System.out.println("=== Summary ===");
-        System.out.println("Original Graph Vertices: " + originalGraph.getN());
-        System.out.println("Original Graph Edges: " + originalGraph.getEdges().size());
-        System.out.println("SCC Components: " + components.size());
-        System.out.println("Condensation Graph Vertices: " + condensationGraph.getN());
-        System.out.println("Condensation Graph Edges: " + condensationGraph.getEdges().size());
-        System.out.println("Critical Path Length: " + criticalPath.getTotalWeight());
-        System.out.println();
-
-        metrics.printMetrics();
+        out.println();
+
+        out.println("=== Summary ===");
+        out.println("Original Graph Vertices: " + originalGraph.getN());
+        out.println("Original Graph Edges: " + originalGraph.getEdgeCount());
+        out.println("SCC Components: " + components.size());
+        out.println("Condensation Graph Vertices: " + condensationGraph.getN());
+        out.println("Condensation Graph Edges: " + condensationGraph.getEdgeCount());
+        out.println("Critical Path Length: " + criticalPath.getTotalWeight());
+        out.println();
+
+        metrics.printMetrics(out);
+        out.flush();
     }
 
     public static void main(String[] args) {
         if (args.length == 0) {
-            System.err.println("Usage: java SchedulerApplication <json_file_path>");
+            System.err.println("Usage: java SchedulerApplication <json_file_path> [--output <file>] [--timeout-ms <n>] [--reduce]");
+            System.err.println("       java SchedulerApplication - [--undirected] [--output <file>] [--timeout-ms <n>] [--reduce]   (edges from stdin)");
+            System.err.println("       java SchedulerApplication --serve [port]     (localhost analysis server)");
+            System.err.println("Input may be gzip-compressed; an output file ending in .gz is written compressed.");
             System.exit(1);
         }
 
-        SchedulerApplication app = new SchedulerApplication();
+        String outputPath = null;
+        CancellationToken token = CancellationToken.NONE;
+        boolean reduce = Arrays.asList(args).contains(REDUCE_ARG);
+        for (int i = 1; i < args.length - 1; i++) {
+            if (OUTPUT_ARG.equals(args[i])) outputPath = args[i + 1];
+            if (TIMEOUT_ARG.equals(args[i])) token = CancellationToken.withTimeout(Duration.ofMillis(Long.parseLong(args[i + 1])));
+        }
         try {
-            app.runPipeline(args[0]);
+            if (SERVE_ARG.equals(args[0])) {
+                int port = args.length > 1 ? Integer.parseInt(args[1]) : AnalysisServer.DEFAULT_PORT;
+                AnalysisServer server = new AnalysisServer(port, Runtime.getRuntime().availableProcessors());
+                server.start();
+                System.out.println("Analysis server listening on http://127.0.0.1:" + server.getPort() + "/graphs");
+            } else if (outputPath == null) {
+                run(new SchedulerApplication(System.out, token, reduce), args);
+            } else {
+                try (OutputStream file = GraphIO.create(outputPath)) {
+                    PrintStream out = new PrintStream(file, false, StandardCharsets.UTF_8);
+                    run(new SchedulerApplication(out, token, reduce), args);
+                    if (out.checkError()) throw new IOException("Failed to write report to " + outputPath);
+                }
+            }
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
             System.exit(1);
         }
     }
+
+    private static void run(SchedulerApplication app, String[] args) {
+        if (STDIN_ARG.equals(args[0])) {
+            boolean directed = !Arrays.asList(args).contains("--undirected");
+            app.runPipeline(System.in, directed);
+        } else {
+            app.runPipeline(args[0]);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pooled scratch arrays for graph searches. A search borrows a workspace with
+ * {@link #acquire(int)} and hands it back by closing it, so algorithm instances
+ * keep no per-call state and can be shared between threads, while repeated
+ * calls reuse the same O(V) arrays instead of allocating them again. Buffers
+ * grow to the largest graph the workspace has served.
+ *
+ * <p>At most {@link #MAX_POOLED} idle workspaces are retained; concurrent
+ * searches beyond that allocate a workspace that is dropped after use. A
+ * workspace that has grown past {@link #MAX_RETAINED_VERTICES} is dropped as
+ * well, so one huge graph does not pin its buffers for the lifetime of the JVM.
+ * On graphs that large the scratch arrays are small next to the O(V+E)
+ * adjacency each call builds anyway.
+ */
+final class SearchWorkspace implements AutoCloseable {
+    static final int INT_BUFFERS = 7;
+    static final int MAX_POOLED = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    static final int MAX_RETAINED_VERTICES = 1 << 16;
+
+    private static final ConcurrentLinkedQueue<SearchWorkspace> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final int[][] ints = new int[INT_BUFFERS][0];
+    private boolean[] flags = new boolean[0];
+    private int n;
+    private int capacity;
+
+    private SearchWorkspace() {
+    }
+
+    /**
+     * @param n number of vertices the search needs buffers for
+     * @return an idle workspace, or a new one if the pool is empty
+     */
+    static SearchWorkspace acquire(int n) {
+        if (n < 0) throw new IllegalArgumentException("Vertex count must be non-negative");
+        SearchWorkspace workspace = POOL.poll();
+        if (workspace == null) {
+            workspace = new SearchWorkspace();
+        } else {
+            POOLED.decrementAndGet();
+        }
+        workspace.n = n;
+        workspace.capacity = Math.max(workspace.capacity, n);
+        return workspace;
+    }
+
+    /**
+     * @param slot buffer index in {@code [0, INT_BUFFERS)}
+     * @return an array of length at least {@code n}; its contents are undefined
+     */
+    int[] ints(int slot) {
+        if (ints[slot].length < n) ints[slot] = new int[n];
+        return ints[slot];
+    }
+
+    /**
+     * @return an array of length at least {@code n} whose first {@code n} entries are {@code false}
+     */
+    boolean[] flags() {
+        if (flags.length < n) {
+            flags = new boolean[n];
+        } else {
+            Arrays.fill(flags, 0, n, false);
+        }
+        return flags;
+    }
+
+    /**
+     * Returns the workspace to the pool, unless it has grown past
+     * {@link #MAX_RETAINED_VERTICES}. It must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (capacity > MAX_RETAINED_VERTICES) return;
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(this);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of idle workspaces currently pooled
+     */
+    static int pooled() {
+        return POOLED.get();
+    }
+}
@@ -0,0 +1,88 @@
+package graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one pipeline stage: parsing and every
+ * {@link GraphAnalysis.Stage}. Events land in the same recording as GC,
+ * safepoint and CPU samples, so a slow stage can be lined up with them.
+ * Record with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}
+ * and filter on {@value #NAME}.
+ *
+ * <p>While recording is off, {@link #begin(String, GraphStore)} does not fill any
+ * field and {@link #end(int, long)} does not commit, so the cost is one small,
+ * usually scalar-replaced allocation per stage.
+ */
+@Name(StageEvent.NAME)
+@Label("Graph Pipeline Stage")
+@Category({"Graph", "Pipeline"})
+@Description("One stage of graph parsing or analysis with its input and result sizes")
+@StackTrace(false)
+public final class StageEvent extends Event {
+    public static final String NAME = "graph.Stage";
+    public static final String PARSE = "PARSE";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Vertices")
+    @Description("Vertex count of the stage's input graph")
+    int vertices;
+
+    @Label("Edges")
+    @Description("Edge count of the stage's input graph")
+    long edges;
+
+    @Label("Components")
+    @Description("Strongly connected components found, or -1 if the stage does not compute them")
+    int components = -1;
+
+    @Label("Result Size")
+    @Description("Stage-specific size of the result, e.g. condensation edges, levels or path length; input bytes for parsing")
+    long resultSize;
+
+    /**
+     * Starts timing a stage.
+     *
+     * @param stage stage name, e.g. a {@link GraphAnalysis.Stage} name or {@link #PARSE}
+     * @param input the stage's input graph, or {@code null} if not known yet
+     */
+    static StageEvent begin(String stage, GraphStore input) {
+        StageEvent event = new StageEvent();
+        if (event.isEnabled()) {
+            event.stage = stage;
+            if (input != null) event.describe(input);
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Records the input graph once it is known, e.g. after parsing.
+     */
+    void describe(GraphStore graph) {
+        vertices = graph.getN();
+        edges = graph.getEdgeCount();
+    }
+
+    /**
+     * Ends timing and commits the event if recording is on and the stage
+     * passes the configured threshold.
+     *
+     * @param components component count, or -1
+     * @param resultSize stage-specific result size
+     */
+    void end(int components, long resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.components = components;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package graph;
+
+/**
+ * Resource usage of one pipeline stage, accumulated over every run of the stage:
+ * wall time, bytes allocated by the thread that ran the stage and the fork/join
+ * workers, GC collections and time, and the highest heap usage sampled while the
+ * stage ran.
+ */
+public final class StageStats {
+    private final String name;
+    private long wallNanos;
+    private long allocatedBytes;
+    private long gcCount;
+    private long gcTimeMillis;
+    private long peakHeapBytes;
+    private int runs;
+    private boolean callerThreadOnly;
+
+    StageStats(String name) {
+        this.name = name;
+    }
+
+    StageStats(StageStats other) {
+        this.name = other.name;
+        this.wallNanos = other.wallNanos;
+        this.allocatedBytes = other.allocatedBytes;
+        this.gcCount = other.gcCount;
+        this.gcTimeMillis = other.gcTimeMillis;
+        this.peakHeapBytes = other.peakHeapBytes;
+        this.runs = other.runs;
+        this.callerThreadOnly = other.callerThreadOnly;
+    }
+
+    void add(long wallNanos, long allocatedBytes, long gcCount, long gcTimeMillis, long peakHeapBytes,
+            boolean callerThreadOnly) {
+        this.wallNanos += wallNanos;
+        this.allocatedBytes = this.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : this.allocatedBytes + allocatedBytes;
+        this.gcCount += gcCount;
+        this.gcTimeMillis += gcTimeMillis;
+        this.peakHeapBytes = Math.max(this.peakHeapBytes, peakHeapBytes);
+        this.runs++;
+        this.callerThreadOnly |= callerThreadOnly;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return bytes allocated while the stage ran, or -1 if the JVM cannot measure it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return true if a run overlapped another stage, so its allocation counts
+     *         the calling thread only and leaves out pool workers
+     */
+    public boolean isAllocationCallerThreadOnly() {
+        return callerThreadOnly;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d ms, allocated %s, gc %d (%d ms), peak heap %d KB",
+                name, wallNanos / 1_000_000, allocatedBytes < 0 ? "n/a"
+                        : (allocatedBytes / 1024) + (callerThreadOnly ? " KB (caller thread only)" : " KB"),
+                gcCount, gcTimeMillis, peakHeapBytes / 1024);
+    }
+}
@@ -1,8 +1,7 @@
 package graph;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
@@ -11,14 +10,17 @@ import java.util.Objects;
 /**
  * Tarjan's algorithm for finding strongly connected components in a directed graph.
  * Uses an iterative approach to avoid stack overflow on large graphs.
+ *
+ * <p>The DFS runs over a {@link CsrAdjacency} and keeps an explicit call stack in
+ * primitive arrays. Each stack frame stores an edge cursor, so every edge is
+ * examined exactly once and the search is strictly O(V + E), even for vertices
+ * with very high out-degree. No objects are allocated per step.
+ *
+ * <p>Instances hold no state: every call keeps its search state in a
+ * {@link Search} over a pooled {@link SearchWorkspace}, so one instance can
+ * serve concurrent calls and repeated calls do not allocate the scratch arrays.
  */
 public class TarjanSCC implements SCCFinder {
-    private int time;
-    private int[] index;
-    private int[] low;
-    private boolean[] onStack;
-    private Deque<Integer> stack;
-    private List<List<Integer>> components;
 
     /**
      * Finds all strongly connected components in the given graph.
@@ -29,92 +31,239 @@ public class TarjanSCC implements SCCFinder {
      * @throws IllegalArgumentException if graph is null
      */
     @Override
-    public SCCResult findSCCs(Graph graph, Metrics metrics) {
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics) {
+        return findSCCs(graph, metrics, CancellationToken.NONE);
+    }
+
+    /**
+     * Finds all strongly connected components, checking {@code token} once every
+     * {@value CancellationToken#CHECK_INTERVAL} visited vertices.
+     *
+     * @param graph   the directed graph to analyze
+     * @param metrics optional metrics collector for performance tracking
+     * @param token   cancellation and progress token
+     * @return SCCResult containing all components and vertex-to-component mapping
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    @Override
+    public SCCResult findSCCs(GraphStore graph, Metrics metrics, CancellationToken token) {
         Objects.requireNonNull(graph, "Graph cannot be null");
-        
-        int n = graph.getN();
-        List<List<Integer>> adj = buildAdjacencyList(graph, n);
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+        return findSCCs(CsrAdjacency.of(graph), metrics, token);
+    }
 
-        time = 0;
-        index = new int[n];
-        low = new int[n];
-        onStack = new boolean[n];
-        stack = new ArrayDeque<>();
-        components = new ArrayList<>();
-        for (int i = 0; i < n; i++) index[i] = -1;
+    /**
+     * Runs the search on an adjacency the caller has already built.
+     */
+    SCCResult findSCCs(CsrAdjacency adj, Metrics metrics, CancellationToken token) {
+        int n = adj.getN();
 
         if (metrics != null) metrics.startTimer();
-        
-        for (int v = 0; v < n; v++) {
-            if (index[v] == -1) {
-                strongConnectIterative(v, adj, metrics);
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(n)) {
+            Search search = new Search(workspace, n, token);
+            for (int v = 0; v < n; v++) {
+                if (search.index[v] == -1) {
+                    search.strongConnectIterative(v, adj);
+                }
             }
+            if (metrics != null && n > 0) metrics.incrementCounter(Metrics.DFS_VISITS, search.time);
+            return search.toResult(n);
         }
+    }
 
-        int[] compOf = new int[n];
-        for (int c = 0; c < components.size(); c++) {
-            for (int v : components.get(c)) compOf[v] = c;
-        }
-        return new SCCResult(components, compOf);
+    /**
+     * Finds all strongly connected components directly on a compressed graph.
+     * Each stack frame keeps its decoding position, so every neighbor list is
+     * decoded exactly once.
+     *
+     * @param graph   the compressed directed graph
+     * @param metrics optional metrics collector for performance tracking
+     * @return SCCResult containing all components and vertex-to-component mapping
+     */
+    public SCCResult findSCCs(CompressedGraph graph, Metrics metrics) {
+        return findSCCs(graph, metrics, CancellationToken.NONE);
     }
 
-    private List<List<Integer>> buildAdjacencyList(Graph graph, int n) {
-        List<List<Integer>> adj = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-        for (Edge e : graph.getEdges()) {
-            adj.get(e.getSource()).add(e.getDestination());
+    /**
+     * Cancellable variant of {@link #findSCCs(CompressedGraph, Metrics)}; checks
+     * {@code token} once every {@value CancellationToken#CHECK_INTERVAL} visited vertices.
+     *
+     * @param token cancellation and progress token
+     * @throws AnalysisCancelledException if the token is cancelled during the search
+     */
+    public SCCResult findSCCs(CompressedGraph graph, Metrics metrics, CancellationToken token) {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        Objects.requireNonNull(token, "Token cannot be null");
+        token.throwIfCancelled();
+
+        int n = graph.getN();
+        CompressedGraph.Cursor cursor = graph.cursor();
+
+        if (metrics != null) metrics.startTimer();
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(n)) {
+            Search search = new Search(workspace, n, token);
+            int[] frameEnd = workspace.ints(5);
+            int[] framePrevious = workspace.ints(6);
+            for (int v = 0; v < n; v++) {
+                if (search.index[v] == -1) {
+                    search.strongConnectCompressed(v, cursor, frameEnd, framePrevious);
+                }
+            }
+            if (metrics != null && n > 0) metrics.incrementCounter(Metrics.DFS_VISITS, search.time);
+            return search.toResult(n);
         }
-        return adj;
     }
 
-    private void strongConnectIterative(int startVertex, List<List<Integer>> adj, Metrics metrics) {
-        Deque<Integer> callStack = new ArrayDeque<>();
-        callStack.push(startVertex);
+    /**
+     * State of one call: DFS numbering, low-links and the explicit stacks, backed
+     * by the buffers of a workspace.
+     */
+    private static final class Search {
+        private final int[] index;
+        private final int[] low;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private final int[] callStack;
+        private final int[] edgeCursor;
+        private final List<List<Integer>> components = new ArrayList<>();
+        private final CancellationToken token;
+        private final int n;
+        private int time;
+        private int stackSize;
 
-        while (!callStack.isEmpty()) {
-            int v = callStack.peek();
+        Search(SearchWorkspace workspace, int n, CancellationToken token) {
+            this.token = token;
+            this.n = n;
+            index = workspace.ints(0);
+            low = workspace.ints(1);
+            stack = workspace.ints(2);
+            callStack = workspace.ints(3);
+            edgeCursor = workspace.ints(4);
+            onStack = workspace.flags();
+            Arrays.fill(index, 0, n, -1);
+        }
 
-            if (index[v] == -1) {
-                index[v] = time;
-                low[v] = time;
-                time++;
-                stack.push(v);
-                onStack[v] = true;
-                if (metrics != null) metrics.incrementCounter(Metrics.DFS_VISITS);
+        SCCResult toResult(int n) {
+            int[] compOf = new int[n];
+            for (int c = 0; c < components.size(); c++) {
+                for (int v : components.get(c)) compOf[v] = c;
             }
+            return new SCCResult(components, compOf);
+        }
+
+        private void strongConnectIterative(int startVertex, CsrAdjacency adj) {
+            int[] offsets = adj.offsets;
+            int[] targets = adj.targets;
+            int top = 0;
+            callStack[0] = startVertex;
+            edgeCursor[0] = offsets[startVertex];
+            visit(startVertex);
 
-            boolean hasUnvisitedChild = false;
-            for (int w : adj.get(v)) {
-                if (index[w] == -1) {
-                    callStack.push(w);
-                    hasUnvisitedChild = true;
-                    break;
-                } else if (onStack[w]) {
-                    low[v] = Math.min(low[v], index[w]);
+            while (top >= 0) {
+                int v = callStack[top];
+                int i = edgeCursor[top];
+                int end = offsets[v + 1];
+                boolean descended = false;
+
+                while (i < end) {
+                    int w = targets[i++];
+                    if (index[w] == -1) {
+                        edgeCursor[top] = i;
+                        top++;
+                        callStack[top] = w;
+                        edgeCursor[top] = offsets[w];
+                        visit(w);
+                        descended = true;
+                        break;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
+                    }
+                }
+                if (descended) continue;
+
+                if (low[v] == index[v]) {
+                    List<Integer> comp = new ArrayList<>();
+                    while (true) {
+                        int w = stack[--stackSize];
+                        onStack[w] = false;
+                        comp.add(w);
+                        if (w == v) break;
+                    }
+                    components.add(comp);
+                }
+
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    if (low[v] < low[parent]) low[parent] = low[v];
                 }
             }
+        }
+
+        private void strongConnectCompressed(int startVertex, CompressedGraph.Cursor cursor,
+                                             int[] frameEnd, int[] framePrevious) {
+            int top = 0;
+            callStack[0] = startVertex;
+            cursor.reset(startVertex);
+            saveFrame(0, cursor, frameEnd, framePrevious);
+            visit(startVertex);
 
-            if (!hasUnvisitedChild) {
-                callStack.pop();
-                
-                for (int w : adj.get(v)) {
-                    if (index[w] > index[v] && onStack[w]) {
-                        low[v] = Math.min(low[v], low[w]);
+            while (top >= 0) {
+                int v = callStack[top];
+                cursor.restore(edgeCursor[top], frameEnd[top], framePrevious[top]);
+                boolean descended = false;
+
+                while (cursor.hasNext()) {
+                    int w = cursor.next();
+                    if (index[w] == -1) {
+                        saveFrame(top, cursor, frameEnd, framePrevious);
+                        top++;
+                        callStack[top] = w;
+                        cursor.reset(w);
+                        saveFrame(top, cursor, frameEnd, framePrevious);
+                        visit(w);
+                        descended = true;
+                        break;
+                    } else if (onStack[w] && index[w] < low[v]) {
+                        low[v] = index[w];
                     }
                 }
+                if (descended) continue;
 
                 if (low[v] == index[v]) {
                     List<Integer> comp = new ArrayList<>();
                     while (true) {
-                        int w = stack.pop();
+                        int w = stack[--stackSize];
                         onStack[w] = false;
                         comp.add(w);
                         if (w == v) break;
                     }
                     components.add(comp);
                 }
+
+                top--;
+                if (top >= 0) {
+                    int parent = callStack[top];
+                    if (low[v] < low[parent]) low[parent] = low[v];
+                }
             }
         }
+
+        private void saveFrame(int top, CompressedGraph.Cursor cursor, int[] frameEnd, int[] framePrevious) {
+            edgeCursor[top] = cursor.position();
+            frameEnd[top] = cursor.end();
+            framePrevious[top] = cursor.previous();
+        }
+
+        private void visit(int v) {
+            if ((time & CancellationToken.CHECK_MASK) == 0 && time > 0) token.checkpoint("SCC", time, n);
+            index[v] = time;
+            low[v] = time;
+            time++;
+            stack[stackSize++] = v;
+            onStack[v] = true;
+        }
     }
 
     /**
@@ -127,7 +276,7 @@ public class TarjanSCC implements SCCFinder {
      * @return a new DAG where each vertex represents an SCC
      * @throws IllegalArgumentException if original or sccs is null
      */
-    public Graph buildCondensationGraph(Graph original, List<List<Integer>> sccs, Metrics metrics) {
+    public Graph buildCondensationGraph(GraphStore original, List<List<Integer>> sccs, Metrics metrics) {
         Objects.requireNonNull(original, "Original graph cannot be null");
         Objects.requireNonNull(sccs, "SCC list cannot be null");
         
@@ -147,9 +296,10 @@ public class TarjanSCC implements SCCFinder {
         Graph dag = new Graph(compCount, true, original.getWeightModel());
         Set<Long> seen = new HashSet<>();
         
-        for (Edge e : original.getEdges()) {
-            int cu = compOf[e.getSource()];
-            int cv = compOf[e.getDestination()];
+        int m = original.getEdgeCount();
+        for (int i = 0; i < m; i++) {
+            int cu = compOf[original.getEdgeSource(i)];
+            int cv = compOf[original.getEdgeDestination(i)];
             if (cu != cv) {
                 long key = (((long) cu) << 32) ^ (cv & 0xffffffffL);
                 if (seen.add(key)) {
@@ -0,0 +1,150 @@
+package graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisServerTest {
+    private AnalysisServer server;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = new AnalysisServer(0, 2);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    private HttpURLConnection open(String method, String path) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        conn.setRequestMethod(method);
+        return conn;
+    }
+
+    private String read(HttpURLConnection conn) throws IOException {
+        InputStream in = conn.getResponseCode() < 400 ? conn.getInputStream() : conn.getErrorStream();
+        try (InputStream body = in) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String request(String method, String path, byte[] body) throws IOException {
+        HttpURLConnection conn = open(method, path);
+        if (body != null) {
+            conn.setDoOutput(true);
+            try (OutputStream out = conn.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        return read(conn);
+    }
+
+    @Test
+    public void testLoadAndQueryDataset() throws IOException {
+        byte[] json = Files.readAllBytes(Paths.get("data/small_graph_2.json"));
+        String loaded = request("PUT", "/graphs/g2", json);
+        assertTrue(loaded.contains("\"n\":8"));
+
+        assertTrue(request("GET", "/graphs", null).contains("\"g2\""));
+        assertTrue(request("GET", "/graphs/g2/scc", null).contains("\"count\":6"));
+        assertTrue(request("GET", "/graphs/g2/topo", null).contains("\"hasCycle\":false"));
+        assertTrue(request("GET", "/graphs/g2/critical-path", null).contains("\"totalWeight\""));
+        assertTrue(request("GET", "/graphs/g2/paths?kind=longest", null).contains("\"distances\""));
+        assertTrue(request("GET", "/graphs/g2/reach?from=0&to=7", null).contains("\"reachable\":true"));
+        assertTrue(request("GET", "/graphs/g2/reach?from=7&to=0", null).contains("\"reachable\":false"));
+    }
+
+    @Test
+    public void testEdgeStreamUploadAndErrors() throws IOException {
+        request("PUT", "/graphs/e?format=edges", "0 1 1\n1 0 1\n1 2 1\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(request("GET", "/graphs/e/scc", null).contains("\"count\":2"));
+
+        assertEquals(404, open("GET", "/graphs/missing/scc").getResponseCode());
+        assertEquals(400, open("GET", "/graphs/e/reach?from=0").getResponseCode());
+        assertTrue(request("DELETE", "/graphs/e", null).contains("deleted"));
+        assertEquals(404, open("GET", "/graphs/e/topo").getResponseCode());
+        assertEquals(404, open("GET", "/graphsfoo").getResponseCode());
+    }
+
+    @Test
+    public void testDeleteWaitsForRunningRequests() throws Exception {
+        server.close();
+        server = new AnalysisServer(0, 8);
+        server.start();
+        Random random = new Random(7);
+        StringBuilder edges = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            edges.append(random.nextInt(100_000)).append(' ').append(random.nextInt(100_000)).append(" 1\n");
+        }
+        request("PUT", "/graphs/big?format=edges", edges.toString().getBytes(StandardCharsets.UTF_8));
+
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (String resource : new String[]{"critical-path", "paths", "reach?from=0&to=1", "topo"}) {
+                statuses.add(clients.submit(() -> open("GET", "/graphs/big/" + resource).getResponseCode()));
+            }
+            Thread.sleep(20);
+            assertTrue(request("DELETE", "/graphs/big", null).contains("deleted"));
+            for (Future<Integer> status : statuses) {
+                int code = status.get(1, TimeUnit.MINUTES);
+                assertTrue(code == 200 || code == 404, "status " + code);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(404, open("GET", "/graphs/big/scc").getResponseCode());
+    }
+
+    @Test
+    public void testQueryParametersAreDecoded() throws IOException {
+        request("PUT", "/graphs/d?format=edges&directed=%66alse", "0 1 1\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(request("GET", "/graphs/d/scc", null).contains("\"count\":1"));
+        assertTrue(request("GET", "/graphs/d/reach?from=%31&to=0", null).contains("\"reachable\":true"));
+        assertTrue(request("GET", "/graphs/d/paths?kind=%6Congest", null).contains("\"distances\""));
+    }
+
+    @Test
+    public void testExpiredDeadlineSheds() throws IOException {
+        byte[] json = Files.readAllBytes(Paths.get("data/small_graph_2.json"));
+        HttpURLConnection conn = open("PUT", "/graphs/late?timeoutMs=0");
+        conn.setDoOutput(true);
+        try (OutputStream out = conn.getOutputStream()) {
+            out.write(json);
+        }
+        assertEquals(503, conn.getResponseCode());
+        assertTrue(read(conn).contains("deadline"));
+        assertFalse(request("GET", "/graphs", null).contains("\"late\""));
+
+        request("PUT", "/graphs/g2", json);
+        HttpURLConnection query = open("GET", "/graphs/g2/critical-path?timeoutMs=0");
+        assertEquals(503, query.getResponseCode());
+        assertTrue(request("GET", "/graphs/g2/critical-path?timeoutMs=60000", null).contains("\"path\""));
+
+        for (String kind : new String[]{"shortest", "longest"}) {
+            HttpURLConnection paths = open("GET", "/graphs/g2/paths?kind=" + kind + "&timeoutMs=0");
+            assertEquals(503, paths.getResponseCode(), kind);
+            assertTrue(read(paths).contains("deadline"), kind);
+        }
+        assertTrue(request("GET", "/graphs/g2/paths?timeoutMs=60000", null).contains("\"distances\""));
+    }
+}
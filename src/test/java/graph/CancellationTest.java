@@ -0,0 +1,160 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import static graph.TestGraphs.randomDag;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CancellationTest {
+    @Test
+    public void testCancelledTokenStopsEveryAlgorithm() {
+        FrozenGraph g = randomDag(50_000, 100_000, 1);
+        CancellationToken token = CancellationToken.cancellable();
+        token.cancel();
+        for (SCCFinder finder : new SCCFinder[]{new TarjanSCC(), new KosarajuSCC(), new GabowSCC(),
+                new ParallelSCC(), new AdaptiveSCCFinder()}) {
+            assertThrows(AnalysisCancelledException.class, () -> finder.findSCCs(g, null, token));
+        }
+        assertThrows(AnalysisCancelledException.class, () -> new KahnTopologicalSort().topologicalSort(g, null, token));
+        assertThrows(AnalysisCancelledException.class, () -> new CriticalPathFinder().findCriticalPath(g, null, token));
+        assertThrows(AnalysisCancelledException.class, () -> new CriticalPathFinder(true).findCriticalPath(g, null, token));
+        assertThrows(AnalysisCancelledException.class, () -> new TransitiveReduction().reduce(g, null, token));
+        int[] identity = IntStream.range(0, g.getN()).toArray();
+        assertThrows(AnalysisCancelledException.class, () -> CondensationBuilder.build(g, identity, g.getN(), null, token));
+        assertThrows(AnalysisCancelledException.class, () -> ReachabilityIndex.build(g, identity, token));
+        for (DAGShortestPath paths : new DAGShortestPath[]{new DAGShortestPath(), new DAGShortestPath(true)}) {
+            assertThrows(AnalysisCancelledException.class, () -> paths.findShortestPaths(g, 0, null, token));
+            assertThrows(AnalysisCancelledException.class, () -> paths.findLongestPaths(g, 0, null, token));
+        }
+
+        AnalysisCancelledException expired = assertThrows(AnalysisCancelledException.class,
+                () -> new TarjanSCC().findSCCs(g, null, CancellationToken.withTimeout(Duration.ZERO)));
+        assertTrue(expired.getMessage().contains("deadline"));
+        assertThrows(UnsupportedOperationException.class, CancellationToken.NONE::cancel);
+    }
+
+    @Test
+    public void testProgressIsReportedAndCanCancelMidRun() {
+        int n = 50_000;
+        FrozenGraph g = randomDag(n, 100_000, 2);
+        for (SCCFinder finder : new SCCFinder[]{new TarjanSCC(), new KosarajuSCC(), new GabowSCC()}) {
+            List<Long> reports = new ArrayList<>();
+            CancellationToken token = CancellationToken.withTimeout(Duration.ofMinutes(1))
+                    .withProgress((task, processed, total) -> {
+                        assertEquals("SCC", task);
+                        assertTrue(processed <= total);
+                        reports.add(processed);
+                    });
+            assertEquals(n, finder.findSCCs(g, null, token).getComponents().size());
+            assertTrue(reports.size() >= n / CancellationToken.CHECK_INTERVAL - 1, finder.getClass().getSimpleName());
+            for (int i = 1; i < reports.size(); i++) assertTrue(reports.get(i) > reports.get(i - 1));
+        }
+
+        CancellationToken base = CancellationToken.cancellable();
+        int[] calls = new int[1];
+        CancellationToken cancelling = base.withProgress((task, processed, total) -> {
+            if (++calls[0] == 3) base.cancel();
+        });
+        assertThrows(AnalysisCancelledException.class, () -> new KahnTopologicalSort().topologicalSort(g, null, cancelling));
+        assertEquals(3, calls[0]);
+        assertTrue(base.isCancelled());
+    }
+
+    @Test
+    public void testCompressedPriorityAndIncrementalVariantsCancelMidRun() {
+        FrozenGraph g = randomDag(50_000, 100_000, 3);
+        CompressedGraph compressed = CompressedGraph.of(g);
+        List<Function<CancellationToken, Object>> variants = List.of(
+                token -> new TarjanSCC().findSCCs(compressed, null, token),
+                token -> new KahnTopologicalSort().topologicalSort(compressed, null, token),
+                token -> new CriticalPathFinder().findCriticalPath(compressed, null, token),
+                token -> new PriorityTopologicalSort().topologicalSort(g, null, null, token),
+                token -> new IncrementalCriticalPath(g, null, token));
+        for (int i = 0; i < variants.size(); i++) {
+            CancellationToken base = CancellationToken.cancellable();
+            int[] calls = new int[1];
+            CancellationToken token = base.withProgress((task, processed, total) -> {
+                if (++calls[0] == 2) base.cancel();
+            });
+            Function<CancellationToken, Object> variant = variants.get(i);
+            assertThrows(AnalysisCancelledException.class, () -> variant.apply(token), "variant " + i);
+            assertEquals(2, calls[0], "variant " + i);
+        }
+    }
+
+    @Test
+    public void testAnalysisStageStaysUncomputedAfterCancellation() {
+        FrozenGraph g = randomDag(20_000, 40_000, 3);
+        CancellationToken token = CancellationToken.cancellable();
+        token.cancel();
+        GraphAnalysis analysis = new GraphAnalysis(g, null, null, token);
+        assertThrows(AnalysisCancelledException.class, analysis::getSCCs);
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.SCC));
+
+        GraphAnalysis shared = new GraphAnalysis(g, null);
+        assertThrows(AnalysisCancelledException.class,
+                () -> shared.withCancellation(token, GraphAnalysis::getCriticalPath));
+        assertFalse(shared.isComputed(GraphAnalysis.Stage.CRITICAL_PATH));
+        assertEquals(new GraphAnalysis(g, null).getCriticalPath().getTotalWeight(),
+                shared.getCriticalPath().getTotalWeight());
+    }
+
+    @Test
+    public void testParallelSccChecksTokenInTrimmingAndTasks() {
+        int n = 3 * ParallelSCC.SEQUENTIAL_THRESHOLD;
+        GraphBuilder builder = new GraphBuilder(n, true, "integer");
+        for (int v = 0; v < n; v++) builder.addEdge(v, (v + 1) % n, 1);
+        CsrAdjacency forward = CsrAdjacency.of(builder.freeze());
+        CsrAdjacency backward = forward.reverse();
+        CancellationToken token = CancellationToken.cancellable();
+        token.cancel();
+        ParallelSCC parallel = new ParallelSCC();
+        assertThrows(AnalysisCancelledException.class, () -> parallel.findSCCs(forward, backward, null, null, token));
+        assertThrows(AnalysisCancelledException.class,
+                () -> parallel.findSCCs(forward, backward, new boolean[n], null, token));
+        assertEquals(1, parallel.findSCCs(forward, backward, null, null, CancellationToken.NONE).getComponentCount());
+    }
+
+    @Test
+    public void testWaitingRequestStopsAtItsOwnDeadline() throws Exception {
+        int n = 20_000;
+        GraphAnalysis analysis = new GraphAnalysis(randomDag(n, 40_000, 4), null);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CancellationToken slow = CancellationToken.cancellable().withProgress((task, processed, total) -> {
+            computing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> owner = executor.submit(
+                    () -> analysis.withCancellation(slow, a -> a.getSCCs().getComponentCount()));
+            assertTrue(computing.await(10, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            assertThrows(AnalysisCancelledException.class, () -> analysis.withCancellation(
+                    CancellationToken.withTimeout(Duration.ofMillis(50)), GraphAnalysis::getSCCs));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            assertFalse(analysis.isComputed(GraphAnalysis.Stage.SCC));
+
+            release.countDown();
+            assertEquals(n, owner.get(10, TimeUnit.SECONDS));
+            assertTrue(analysis.isComputed(GraphAnalysis.Stage.SCC));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
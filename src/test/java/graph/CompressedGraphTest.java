@@ -0,0 +1,98 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedGraphTest {
+    private static Graph randomGraph(int n, int m, long seed, boolean unitWeights) {
+        Random random = new Random(seed);
+        Graph g = new Graph(n, true, "integer");
+        for (int i = 0; i < m; i++) {
+            g.addEdge(random.nextInt(n), random.nextInt(n), unitWeights ? 1 : random.nextInt(2000) - 1000);
+        }
+        return g;
+    }
+
+    private static Set<Set<Integer>> componentSets(SCCResult result) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> c : result.getComponents()) sets.add(new HashSet<>(c));
+        return sets;
+    }
+
+    @Test
+    public void testNeighborsRoundTrip() {
+        Graph g = randomGraph(300, 2000, 3, false);
+        CompressedGraph compressed = CompressedGraph.of(g);
+        CsrAdjacency adj = CsrAdjacency.of(g);
+        assertEquals(g.getEdgeCount(), compressed.getEdgeCount());
+        CompressedGraph.Cursor cursor = compressed.cursor();
+        for (int v = 0; v < g.getN(); v++) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = adj.start(v); i < adj.end(v); i++) expected.add(((long) adj.target(i) << 32) | (adj.weight(i) & 0xffffffffL));
+            Collections.sort(expected);
+            List<Long> actual = new ArrayList<>();
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int target = cursor.next();
+                actual.add(((long) target << 32) | (cursor.weight() & 0xffffffffL));
+            }
+            assertEquals(expected, actual);
+            assertEquals(expected.size(), compressed.outDegree(v));
+        }
+    }
+
+    @Test
+    public void testAlgorithmsMatchUncompressed() {
+        Graph g = randomGraph(2000, 3000, 11, false);
+        CompressedGraph compressed = CompressedGraph.of(g);
+        assertEquals(componentSets(new TarjanSCC().findSCCs(g, null)),
+                componentSets(new TarjanSCC().findSCCs(compressed, new Metrics())));
+
+        SCCResult scc = new TarjanSCC().findSCCs(g, null);
+        Graph dag = new TarjanSCC().buildCondensationGraph(g, scc.getComponents(), null);
+        CompressedGraph compressedDag = CompressedGraph.of(dag);
+        TopoResult topo = new KahnTopologicalSort().topologicalSort(compressedDag, null);
+        assertFalse(topo.hasCycle());
+        int[] position = new int[dag.getN()];
+        for (int i = 0; i < topo.getOrder().size(); i++) position[topo.getOrder().get(i)] = i;
+        for (int i = 0; i < dag.getEdgeCount(); i++) {
+            assertTrue(position[dag.getEdgeSource(i)] < position[dag.getEdgeDestination(i)]);
+        }
+
+        Graph weighted = new Graph(6, true, "integer");
+        weighted.addEdge(0, 1, 3);
+        weighted.addEdge(0, 2, 1);
+        weighted.addEdge(1, 3, 4);
+        weighted.addEdge(2, 3, 9);
+        weighted.addEdge(3, 4, 2);
+        weighted.addEdge(5, 4, 1);
+        CriticalPathResult expected = new CriticalPathFinder().findCriticalPath(weighted, null);
+        CriticalPathResult actual = new CriticalPathFinder().findCriticalPath(CompressedGraph.of(weighted), null);
+        assertEquals(expected.getTotalWeight(), actual.getTotalWeight());
+        assertEquals(expected.getPath(), actual.getPath());
+    }
+
+    @Test
+    public void testCyclicGraphDetectedByKahn() {
+        Graph g = new Graph(3, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        assertTrue(new KahnTopologicalSort().topologicalSort(CompressedGraph.of(g), null).hasCycle());
+    }
+
+    @Test
+    public void testLocalGraphCompressesWell() {
+        FrozenGraph g = new DatasetGenerator().generateScalingGraph(100_000, 4, 5);
+        CompressedGraph compressed = CompressedGraph.of(g);
+        long plainCsrBytes = 4L * (g.getN() + 1) + 8L * g.getEdgeCount();
+        assertTrue(compressed.getSizeBytes() * 3 < plainCsrBytes,
+                "compressed " + compressed.getSizeBytes() + " vs plain " + plainCsrBytes);
+    }
+}
@@ -0,0 +1,63 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.Set;
+import static graph.TestGraphs.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CondensationBuilderTest {
+    private static Set<Long> edgeKeys(GraphStore g) {
+        Set<Long> keys = new HashSet<>();
+        for (int i = 0; i < g.getEdgeCount(); i++) {
+            keys.add(((long) g.getEdgeSource(i) << 32) | g.getEdgeDestination(i));
+        }
+        return keys;
+    }
+
+    @Test
+    public void testSmallGraphMatchesSequential() {
+        Graph g = new Graph(5, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(4, 3, 1);
+        SCCResult scc = new TarjanSCC().findSCCs(g, null);
+        Graph expected = new TarjanSCC().buildCondensationGraph(g, scc.getComponents(), null);
+
+        Metrics metrics = new Metrics();
+        FrozenGraph dag = CondensationBuilder.build(g, scc, metrics);
+        assertEquals(3, dag.getN());
+        assertEquals(2, dag.getEdgeCount());
+        assertEquals(edgeKeys(expected), edgeKeys(dag));
+        assertEquals(2, metrics.getCounter(Metrics.COND_EDGES));
+    }
+
+    @Test
+    public void testLargeGraphMatchesSequentialInCsrOrder() {
+        Graph g = randomGraph(50_000, 200_000, 17);
+        SCCResult scc = new TarjanSCC().findSCCs(g, null);
+        Graph expected = new TarjanSCC().buildCondensationGraph(g, scc.getComponents(), null);
+
+        FrozenGraph dag = CondensationBuilder.build(g, scc, null);
+        assertEquals(expected.getN(), dag.getN());
+        assertEquals(expected.getEdgeCount(), dag.getEdgeCount());
+        assertEquals(edgeKeys(expected), edgeKeys(dag));
+        for (int i = 1; i < dag.getEdgeCount(); i++) {
+            long prev = ((long) dag.getEdgeSource(i - 1) << 32) | dag.getEdgeDestination(i - 1);
+            long cur = ((long) dag.getEdgeSource(i) << 32) | dag.getEdgeDestination(i);
+            assertTrue(prev < cur);
+        }
+    }
+
+    @Test
+    public void testInvalidComponentId() {
+        Graph g = new Graph(2, true, "integer");
+        g.addEdge(0, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> CondensationBuilder.build(g, new int[]{0, 2}, 2, null));
+    }
+}
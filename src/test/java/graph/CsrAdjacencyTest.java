@@ -0,0 +1,79 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static graph.TestGraphs.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrAdjacencyTest {
+    /** Out-lists in store order, built the straightforward way. */
+    private static List<List<int[]>> expectedLists(GraphStore g) {
+        List<List<int[]>> lists = new ArrayList<>();
+        for (int v = 0; v < g.getN(); v++) lists.add(new ArrayList<>());
+        for (int i = 0; i < g.getEdgeCount(); i++) {
+            lists.get(g.getEdgeSource(i)).add(new int[]{g.getEdgeDestination(i), g.getEdgeWeight(i)});
+        }
+        return lists;
+    }
+
+    private static void assertMatches(List<List<int[]>> expected, CsrAdjacency adj) {
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.get(v).size(), adj.outDegree(v));
+            for (int k = 0; k < expected.get(v).size(); k++) {
+                assertEquals(expected.get(v).get(k)[0], adj.target(adj.start(v) + k));
+                assertEquals(expected.get(v).get(k)[1], adj.weight(adj.start(v) + k));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBuildIsStable() {
+        Graph g = randomGraph(20_000, 300_000, 1);
+        assertMatches(expectedLists(g), CsrAdjacency.of(g));
+
+        Graph small = randomGraph(50, 200, 2);
+        assertMatches(expectedLists(small), CsrAdjacency.of(small));
+    }
+
+    @Test
+    public void testReverseOrdersInEdgesBySource() {
+        Graph g = randomGraph(5_000, 200_000, 3);
+        CsrAdjacency forward = CsrAdjacency.of(g);
+        CsrAdjacency reverse = forward.reverse();
+        assertEquals(forward.getEdgeCount(), reverse.getEdgeCount());
+        List<List<int[]>> expected = new ArrayList<>();
+        for (int v = 0; v < g.getN(); v++) expected.add(new ArrayList<>());
+        for (int u = 0; u < g.getN(); u++) {
+            for (int i = forward.start(u); i < forward.end(u); i++) {
+                expected.get(forward.target(i)).add(new int[]{u, forward.weight(i)});
+            }
+        }
+        assertMatches(expected, reverse);
+    }
+
+    @Test
+    public void testDropDuplicatesKeepsFirstWeight() {
+        Graph g = new Graph(3, true, "integer");
+        g.addEdge(0, 2, 5);
+        g.addEdge(0, 1, 7);
+        g.addEdge(0, 2, 9);
+        g.addEdge(1, 2, 1);
+        g.addEdge(0, 1, 3);
+        CsrAdjacency adj = CsrAdjacency.of(g, true);
+        assertEquals(3, adj.getEdgeCount());
+        assertEquals(2, adj.outDegree(0));
+        assertEquals(1, adj.target(adj.start(0)));
+        assertEquals(7, adj.weight(adj.start(0)));
+        assertEquals(2, adj.target(adj.start(0) + 1));
+        assertEquals(5, adj.weight(adj.start(0) + 1));
+
+        Graph large = randomGraph(1_000, 200_000, 4);
+        CsrAdjacency deduped = CsrAdjacency.of(large, true);
+        for (int v = 0; v < large.getN(); v++) {
+            for (int i = deduped.start(v) + 1; i < deduped.end(v); i++) {
+                assertTrue(deduped.target(i - 1) < deduped.target(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeStreamReaderTest {
+    private OffHeapGraph read(String text, boolean directed) {
+        return new EdgeStreamReader().read(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), directed);
+    }
+
+    @Test
+    public void testPlainTextEdges() {
+        OffHeapGraph g = read("# comment\n0 1 2\n1\t2 3\n\n2,0,1\n3 4", true);
+        assertEquals(5, g.getN());
+        assertEquals(4, g.getEdgeCount());
+        assertEquals(2, g.getEdgeSource(2));
+        assertEquals(0, g.getEdgeDestination(2));
+        assertEquals(1, g.getEdgeWeight(3));
+    }
+
+    @Test
+    public void testNdjsonEdges() {
+        OffHeapGraph g = read("{\"n\": 6}\r\n{\"u\": 0, \"v\": 1, \"w\": 5}\n{\"v\":2,\"u\":1}\n", true);
+        assertEquals(6, g.getN());
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(5, g.getEdgeWeight(0));
+        assertEquals(1, g.getEdgeSource(1));
+        assertEquals(2, g.getEdgeDestination(1));
+    }
+
+    @Test
+    public void testStreamedGraphFeedsSCC() {
+        OffHeapGraph g = read("0 1 1\n1 2 1\n2 0 1\n2 3 1\n", true);
+        SCCResult result = new TarjanSCC().findSCCs(g, new Metrics());
+        assertEquals(2, result.getComponents().size());
+    }
+
+    @Test
+    public void testUndirectedStream() {
+        OffHeapGraph g = read("0 1 1\n", false);
+        assertEquals(2, g.getEdgeCount());
+    }
+
+    @Test
+    public void testMalformedLine() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> read("0 1\nx y\n", true));
+        assertTrue(e.getMessage().contains("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"u\": 1}\n", true));
+        e = assertThrows(IllegalArgumentException.class, () -> read("{\"u\": 0, \"v\": 1, \"w\": 2.5}\n", true));
+        assertTrue(e.getMessage().contains("expected an integer"));
+        e = assertThrows(IllegalArgumentException.class, () -> read("0 1 2.5\n", true));
+        assertTrue(e.getMessage().contains("expected an integer"));
+        assertEquals(3, read("{\"u\":0,\"v\":1,\"w\":3}\n", true).getEdgeWeight(0));
+    }
+}
@@ -0,0 +1,121 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphAnalysisTest {
+    private Graph createGraph() {
+        Graph g = new Graph(6, true, "integer");
+        g.addEdge(0, 1, 2);
+        g.addEdge(1, 2, 3);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 4);
+        g.addEdge(3, 4, 5);
+        g.addEdge(4, 3, 1);
+        g.addEdge(4, 5, 6);
+        g.setSource(0);
+        return g;
+    }
+
+    @Test
+    public void testSccOnlyComputesSccStage() {
+        GraphAnalysis analysis = new GraphAnalysis(createGraph(), new Metrics());
+        assertEquals(3, analysis.getSCCs().getComponents().size());
+        assertTrue(analysis.isComputed(GraphAnalysis.Stage.SCC));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.CONDENSATION));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.CRITICAL_PATH));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.REACHABILITY));
+    }
+
+    @Test
+    public void testCriticalPathResolvesDependencies() {
+        GraphAnalysis analysis = new GraphAnalysis(createGraph(), new Metrics());
+        CriticalPathResult path = analysis.getCriticalPath();
+        assertTrue(analysis.isComputed(GraphAnalysis.Stage.CONDENSATION));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.REDUCED_CONDENSATION));
+        assertTrue(analysis.isComputed(GraphAnalysis.Stage.LEVELS));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.TOPOLOGICAL_ORDER));
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.SHORTEST_PATHS));
+        assertSame(path, analysis.getCriticalPath());
+    }
+
+    @Test
+    public void testPathStagesReuseLevels() {
+        Metrics metrics = new Metrics();
+        GraphAnalysis analysis = new GraphAnalysis(createGraph(), metrics);
+        analysis.getCriticalPath();
+        analysis.getShortestPaths();
+        analysis.getLongestPaths();
+        assertEquals(analysis.getCondensation().getN(), metrics.getCounter(Metrics.TOPO_POPS));
+    }
+
+    @Test
+    public void testTransitiveReductionIsOptIn() {
+        GraphAnalysis analysis = new GraphAnalysis(createGraph(), null);
+        int levelCount = analysis.getLevels().getLevelCount();
+        int weight = analysis.getCriticalPath().getTotalWeight();
+        assertFalse(analysis.isComputed(GraphAnalysis.Stage.REDUCED_CONDENSATION));
+
+        FrozenGraph reduced = analysis.getReducedCondensation();
+        assertEquals(levelCount, new KahnTopologicalSort().topologicalLevels(reduced, null, null).getLevelCount());
+        assertEquals(weight, new CriticalPathFinder(true).findCriticalPath(reduced, null).getTotalWeight());
+    }
+
+    @Test
+    public void testSlowRequestDoesNotBlockOtherStages() throws Exception {
+        GraphAnalysis analysis = new GraphAnalysis(createGraph(), null);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> slow = executor.submit(() -> analysis.withCancellation(CancellationToken.NONE, a -> {
+                int count = a.getSCCs().getComponentCount();
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return count;
+            }));
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            assertEquals(3, executor.submit(() -> analysis.getCondensation().getN()).get(10, TimeUnit.SECONDS));
+
+            List<Future<CriticalPathResult>> paths = new ArrayList<>();
+            for (int i = 0; i < 6; i++) paths.add(executor.submit(analysis::getCriticalPath));
+            for (Future<CriticalPathResult> path : paths) assertSame(analysis.getCriticalPath(), path.get(10, TimeUnit.SECONDS));
+            release.countDown();
+            assertEquals(3, slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResultsMatchEagerPipeline() {
+        Graph g = createGraph();
+        GraphAnalysis analysis = new GraphAnalysis(g, null);
+        SCCResult scc = new TarjanSCC().findSCCs(g, null);
+        Graph condensation = new TarjanSCC().buildCondensationGraph(g, scc.getComponents(), null);
+
+        assertEquals(scc.getComponents(), analysis.getSCCs().getComponents());
+        assertEquals(condensation.getEdgeCount(), analysis.getCondensation().getEdgeCount());
+        assertEquals(new CriticalPathFinder().findCriticalPath(condensation, null).getTotalWeight(),
+                analysis.getCriticalPath().getTotalWeight());
+        assertArrayEquals(new DAGShortestPath().findShortestPaths(condensation, condensation.getSource(), null),
+                analysis.getShortestPaths());
+        assertArrayEquals(new DAGShortestPath().findLongestPaths(condensation, condensation.getSource(), null),
+                analysis.getLongestPaths());
+        assertEquals(condensation.getN(), analysis.getTopologicalOrder().getOrder().size());
+        assertTrue(analysis.getReachability().canReach(0, 5));
+        assertFalse(analysis.getReachability().canReach(5, 0));
+    }
+}
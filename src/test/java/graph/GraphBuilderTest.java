@@ -0,0 +1,77 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphBuilderTest {
+
+    @Test
+    public void testBulkAddAndFreeze() {
+        FrozenGraph g = new GraphBuilder(5, true, "integer")
+                .expectedEdges(5)
+                .addEdges(new int[]{0, 0, 1, 2}, new int[]{1, 2, 3, 3}, new int[]{2, 1, 3, 1})
+                .addEdge(3, 4, 2)
+                .source(0)
+                .freeze();
+        assertEquals(5, g.getN());
+        assertEquals(5, g.getEdgeCount());
+        assertEquals(2, g.getEdgeSource(3));
+        assertEquals(3, g.getEdgeDestination(3));
+        assertEquals(2, g.getEdgeWeight(4));
+    }
+
+    @Test
+    public void testEdgeViewIsStable() {
+        FrozenGraph g = new GraphBuilder(3, true, "integer").addEdge(0, 1, 4).addEdge(1, 2, 5).freeze();
+        List<Edge> edges = g.getEdges();
+        assertSame(edges, g.getEdges());
+        assertEquals(new Edge(1, 2, 5), edges.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> edges.add(new Edge(0, 2, 1)));
+    }
+
+    @Test
+    public void testDefaultWeightsAndUndirected() {
+        FrozenGraph g = new GraphBuilder(3, false, "integer").addEdges(new int[]{0}, new int[]{2}, null).freeze();
+        assertEquals(2, g.getEdgeCount());
+        assertEquals(2, g.getEdgeSource(1));
+        assertEquals(0, g.getEdgeDestination(1));
+        assertEquals(1, g.getEdgeWeight(1));
+    }
+
+    @Test
+    public void testFrozenGraphMatchesGraphResults() {
+        Graph graph = new Graph(6, true, "integer");
+        GraphBuilder builder = new GraphBuilder(6, true, "integer");
+        int[][] edges = {{0, 1, 2}, {1, 2, 3}, {2, 0, 1}, {2, 3, 4}, {3, 4, 1}, {4, 5, 2}};
+        for (int[] e : edges) {
+            graph.addEdge(e[0], e[1], e[2]);
+            builder.addEdge(e[0], e[1], e[2]);
+        }
+        FrozenGraph frozen = builder.freeze();
+
+        TarjanSCC tarjan = new TarjanSCC();
+        assertEquals(tarjan.findSCCs(graph, new Metrics()).getComponents().size(),
+                tarjan.findSCCs(frozen, new Metrics()).getComponents().size());
+        CriticalPathFinder finder = new CriticalPathFinder();
+        Graph dag = tarjan.buildCondensationGraph(frozen, tarjan.findSCCs(frozen, new Metrics()).getComponents(), null);
+        assertTrue(finder.findCriticalPath(dag, null).getTotalWeight() > 0);
+    }
+
+    @Test
+    public void testInvalidInput() {
+        GraphBuilder builder = new GraphBuilder(2, true, "integer");
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdges(new int[]{0}, new int[]{5}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> builder.addEdges(new int[]{0, 1}, new int[]{1}, null));
+        assertEquals(0, builder.getEdgeCount());
+        builder.freeze();
+        assertThrows(IllegalStateException.class, () -> builder.addEdge(0, 1, 1));
+        assertThrows(IllegalStateException.class, () -> builder.expectedEdges(10));
+        assertThrows(IllegalStateException.class, () -> builder.source(1));
+
+        GraphBuilder undirected = new GraphBuilder(2, false, "integer");
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> undirected.expectedEdges(FrozenGraph.MAX_UNDIRECTED_EDGES + 1));
+        assertTrue(e.getMessage().contains("Undirected"));
+    }
+}
@@ -0,0 +1,90 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphIOTest {
+    @TempDir
+    Path tempDir;
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Test
+    public void testCompressedDatasetParsesLikePlain() throws IOException {
+        byte[] plain = Files.readAllBytes(Paths.get("data/medium_graph_1.json"));
+        Path byExtension = tempDir.resolve("medium.json.gz");
+        Path byMagic = tempDir.resolve("medium.json");
+        Files.write(byExtension, gzip(plain));
+        Files.write(byMagic, gzip(plain));
+
+        JSONParser parser = new JSONParser();
+        FrozenGraph expected = parser.parseGraph(plain);
+        for (Path path : new Path[]{byExtension, byMagic}) {
+            FrozenGraph actual = parser.parseGraphFile(path.toString());
+            assertEquals(expected.getN(), actual.getN());
+            assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+            assertEquals(parser.parseTasksJSON("data/medium_graph_1.json").getEdgeCount(),
+                    parser.parseTasksJSON(path.toString()).getEdgeCount());
+        }
+    }
+
+    @Test
+    public void testBackgroundInflationPreservesLargeStream() throws IOException {
+        byte[] data = new byte[3_000_000];
+        new Random(4).nextBytes(data);
+        for (int i = 0; i < data.length; i += 3) data[i] = 'x';
+        try (InputStream in = GraphIO.decompressing(new ByteArrayInputStream(gzip(data)))) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        byte[] text = "0 1 2\n".getBytes(StandardCharsets.UTF_8);
+        try (InputStream in = GraphIO.decompressing(new ByteArrayInputStream(text))) {
+            assertArrayEquals(text, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testCompressedEdgeStreamAndOutput() throws IOException {
+        byte[] edges = "0 1 3\n1 2 4\n2 0 1\n2 3 7\n".getBytes(StandardCharsets.UTF_8);
+        Path report = tempDir.resolve("report.txt.gz");
+        try (OutputStream file = GraphIO.create(report.toString());
+             PrintStream out = new PrintStream(file, false, StandardCharsets.UTF_8)) {
+            new SchedulerApplication(out).runPipeline(new ByteArrayInputStream(gzip(edges)), true);
+        }
+        String text;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(report))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(text.contains("Found 2 component(s)"), text);
+        assertTrue(text.contains("=== Performance Metrics ==="));
+    }
+
+    @Test
+    public void testTruncatedInputFails() throws IOException {
+        byte[] compressed = gzip(new byte[100_000]);
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        try (InputStream in = GraphIO.decompressing(new ByteArrayInputStream(truncated))) {
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalCriticalPathTest {
+    private static Graph rebuild(int n, Map<Integer, int[]> edges) {
+        Graph g = new Graph(n, true, "integer");
+        for (int[] e : edges.values()) g.addEdge(e[0], e[1], e[2]);
+        return g;
+    }
+
+    private static void assertMatchesFullRecomputation(IncrementalCriticalPath incremental, int n, Map<Integer, int[]> edges) {
+        Graph g = rebuild(n, edges);
+        CriticalPathResult expected = new CriticalPathFinder().findCriticalPath(g, null);
+        CriticalPathResult actual = incremental.getCriticalPath();
+        assertEquals(expected.getTotalWeight(), actual.getTotalWeight());
+        assertEquals(expected.getTotalWeight(), incremental.getTotalWeight());
+
+        List<Integer> path = actual.getPath();
+        int weight = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int best = Integer.MIN_VALUE;
+            for (int[] e : edges.values()) if (e[0] == path.get(i) && e[1] == path.get(i + 1)) best = Math.max(best, e[2]);
+            assertNotEquals(Integer.MIN_VALUE, best, "path uses a missing edge");
+            weight += best;
+        }
+        assertEquals(actual.getTotalWeight(), Math.max(0, weight));
+        for (int[] e : edges.values()) assertTrue(incremental.getPosition(e[0]) < incremental.getPosition(e[1]));
+    }
+
+    @Test
+    public void testRandomEditsMatchFullRecomputation() {
+        Random random = new Random(17);
+        int n = 300;
+        Graph g = new Graph(n, true, "integer");
+        Map<Integer, int[]> edges = new HashMap<>();
+        for (int i = 0; i < 900; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(Math.min(20, n - u - 1));
+            int w = 1 + random.nextInt(20);
+            g.addEdge(u, v, w);
+            edges.put(i, new int[]{u, v, w});
+        }
+        IncrementalCriticalPath incremental = new IncrementalCriticalPath(g, new Metrics());
+        assertMatchesFullRecomputation(incremental, n, edges);
+
+        int rejected = 0;
+        for (int step = 0; step < 400; step++) {
+            List<Integer> ids = new ArrayList<>(edges.keySet());
+            int op = random.nextInt(3);
+            if (op == 0 && !ids.isEmpty()) {
+                int id = ids.get(random.nextInt(ids.size()));
+                int w = 1 + random.nextInt(40);
+                incremental.setWeight(id, w);
+                edges.get(id)[2] = w;
+            } else if (op == 1 && !ids.isEmpty()) {
+                int id = ids.get(random.nextInt(ids.size()));
+                incremental.removeEdge(id);
+                edges.remove(id);
+            } else {
+                int u = random.nextInt(n), v = random.nextInt(n), w = 1 + random.nextInt(20);
+                try {
+                    int id = incremental.addEdge(u, v, w);
+                    assertFalse(edges.containsKey(id));
+                    edges.put(id, new int[]{u, v, w});
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    assertTrue(new TarjanSCC().findSCCs(withEdge(rebuild(n, edges), u, v), null).getComponents().size() < n);
+                }
+            }
+            assertEquals(edges.size(), incremental.getEdgeCount());
+            assertMatchesFullRecomputation(incremental, n, edges);
+        }
+        assertTrue(rejected > 0);
+    }
+
+    private static Graph withEdge(Graph g, int u, int v) {
+        g.addEdge(u, v, 1);
+        return g;
+    }
+
+    @Test
+    public void testWeightChangeTouchesOnlyDownstreamCone() {
+        int n = 10_000;
+        Graph g = new Graph(n, true, "integer");
+        for (int v = 0; v + 1 < n; v++) g.addEdge(v, v + 1, 1);
+        Metrics metrics = new Metrics();
+        IncrementalCriticalPath incremental = new IncrementalCriticalPath(g, metrics);
+        assertEquals(n - 1, incremental.getTotalWeight());
+
+        metrics.reset();
+        incremental.setWeight(incremental.findEdge(n - 11, n - 10), 50);
+        assertEquals(n - 1 + 49, incremental.getTotalWeight());
+        assertEquals(10, metrics.getCounter("icp_recomputed"));
+        assertEquals(List.of(0, 1, 2), incremental.getCriticalPath().getPath().subList(0, 3));
+    }
+
+    @Test
+    public void testBackwardEdgeReordersAndCycleIsRejected() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(0, 1, 2);
+        g.addEdge(2, 3, 5);
+        IncrementalCriticalPath incremental = new IncrementalCriticalPath(g, null);
+        assertEquals(5, incremental.getTotalWeight());
+
+        incremental.addEdge(3, 0, 1);
+        assertEquals(8, incremental.getTotalWeight());
+        assertEquals(List.of(2, 3, 0, 1), incremental.getCriticalPath().getPath());
+        assertTrue(incremental.getPosition(3) < incremental.getPosition(0));
+
+        assertThrows(IllegalArgumentException.class, () -> incremental.addEdge(1, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> incremental.addEdge(1, 1, 1));
+        assertEquals(3, incremental.getEdgeCount());
+        assertEquals(8, incremental.getTotalWeight());
+
+        Graph cyclic = new Graph(2, true, "integer");
+        cyclic.addEdge(0, 1, 1);
+        cyclic.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalCriticalPath(cyclic, null));
+    }
+}
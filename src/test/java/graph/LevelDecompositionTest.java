@@ -0,0 +1,65 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelDecompositionTest {
+    private Graph createDiamond() {
+        Graph g = new Graph(6, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(1, 3, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(5, 3, 1);
+        g.addEdge(3, 4, 1);
+        return g;
+    }
+
+    @Test
+    public void testLevelsWidthsAndWeights() {
+        LevelResult result = new KahnTopologicalSort().topologicalLevels(createDiamond(), new int[]{1, 2, 3, 4, 5, 6}, new Metrics());
+        assertFalse(result.hasCycle());
+        assertEquals(4, result.getLevelCount());
+        assertArrayEquals(new int[]{0, 5}, result.getLevel(0));
+        assertArrayEquals(new int[]{1, 2}, result.getLevel(1));
+        assertArrayEquals(new int[]{3}, result.getLevel(2));
+        assertArrayEquals(new int[]{2, 2, 1, 1}, result.getLevelWidths());
+        assertArrayEquals(new long[]{7, 5, 4, 5}, result.getLevelWeights());
+        assertEquals(2, result.getLevelOf()[3]);
+    }
+
+    @Test
+    public void testLevelOrderMatchesKahn() {
+        Random random = new Random(23);
+        Graph g = new Graph(100, true, "integer");
+        for (int i = 0; i < 300; i++) {
+            int u = random.nextInt(100), v = random.nextInt(100);
+            if (u < v) g.addEdge(u, v, 1);
+        }
+        KahnTopologicalSort sorter = new KahnTopologicalSort();
+        LevelResult levels = sorter.topologicalLevels(g, null, null);
+        assertEquals(sorter.topologicalSort(g, null).getOrder(), levels.getOrder());
+        int[] levelOf = levels.getLevelOf();
+        for (Edge e : g.getEdges()) assertTrue(levelOf[e.getSource()] < levelOf[e.getDestination()]);
+    }
+
+    @Test
+    public void testCycleLeavesVerticesUnleveled() {
+        Graph g = new Graph(3, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        LevelResult result = new KahnTopologicalSort().topologicalLevels(g, null, null);
+        assertTrue(result.hasCycle());
+        assertEquals(1, result.getLevelCount());
+        assertEquals(-1, result.getLevelOf()[2]);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        LevelResult result = new KahnTopologicalSort().topologicalLevels(new Graph(0, true, "integer"), null, null);
+        assertEquals(0, result.getLevelCount());
+        assertFalse(result.hasCycle());
+    }
+}
@@ -0,0 +1,69 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapGraphTest {
+    private OffHeapGraph createMultipleSCCs() {
+        OffHeapGraph g = new OffHeapGraph(8, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(4, 5, 1);
+        g.addEdge(5, 3, 1);
+        g.addEdge(5, 6, 1);
+        g.addEdge(6, 7, 1);
+        return g;
+    }
+
+    @Test
+    public void testEdgeColumnsRoundTrip() {
+        OffHeapGraph g = new OffHeapGraph(5000, true, "integer");
+        for (int i = 0; i < 4999; i++) g.addEdge(i, i + 1, i % 7);
+        assertEquals(4999, g.getEdgeCount());
+        assertEquals(1234, g.getEdgeSource(1234));
+        assertEquals(1235, g.getEdgeDestination(1234));
+        assertEquals(1234 % 7, g.getEdgeWeight(1234));
+        assertTrue(g.getOffHeapBytes() >= 3L * 4999 * Integer.BYTES);
+    }
+
+    @Test
+    public void testUndirectedEdgesStoredOnce() {
+        OffHeapGraph g = new OffHeapGraph(3, false, "integer");
+        g.addEdge(0, 1, 4);
+        g.addEdge(1, 2, 5);
+        assertEquals(4, g.getEdgeCount());
+        assertEquals(1, g.getEdgeSource(2));
+        assertEquals(0, g.getEdgeDestination(2));
+        assertEquals(4, g.getEdgeWeight(2));
+    }
+
+    @Test
+    public void testAlgorithmsRunOnOffHeapStore() {
+        OffHeapGraph g = createMultipleSCCs();
+        TarjanSCC tarjan = new TarjanSCC();
+        SCCResult result = tarjan.findSCCs(g, new Metrics());
+        assertEquals(4, result.getComponents().size());
+
+        Graph dag = tarjan.buildCondensationGraph(g, result.getComponents(), new Metrics());
+        TopoResult topo = new KahnTopologicalSort().topologicalSort(dag, new Metrics());
+        assertFalse(topo.hasCycle());
+        assertEquals(4, topo.getOrder().size());
+    }
+
+    @Test
+    public void testInvalidEdge() {
+        OffHeapGraph g = new OffHeapGraph(2, true, "integer");
+        assertThrows(IllegalArgumentException.class, () -> g.addEdge(0, 2, 1));
+    }
+
+    @Test
+    public void testClosedStoreRejectsAccess() {
+        OffHeapGraph g = createMultipleSCCs();
+        g.close();
+        assertEquals(0, g.getOffHeapBytes());
+        assertThrows(IllegalStateException.class, () -> g.addEdge(0, 1, 1));
+    }
+}
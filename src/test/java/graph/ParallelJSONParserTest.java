@@ -0,0 +1,143 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelJSONParserTest {
+    private static List<Long> edgeKeys(GraphStore g) {
+        List<Long> keys = new ArrayList<>();
+        CsrAdjacency adj = CsrAdjacency.of(g);
+        for (int v = 0; v < adj.getN(); v++) {
+            for (int i = adj.start(v); i < adj.end(v); i++) {
+                keys.add(((long) v << 42) | ((long) adj.target(i) << 21) | adj.weight(i));
+            }
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    @Test
+    public void testDatasetsMatchRegexParser() {
+        JSONParser parser = new JSONParser();
+        String[] datasets = {"small_graph_1", "small_graph_2", "small_graph_3", "medium_graph_1",
+                "medium_graph_2", "medium_graph_3", "large_graph_1", "large_graph_2", "large_graph_3"};
+        for (String dataset : datasets) {
+            String path = "data/" + dataset + ".json";
+            Graph expected = parser.parseTasksJSON(path);
+            FrozenGraph actual = parser.parseGraphFile(path);
+            assertEquals(expected.getN(), actual.getN(), dataset);
+            assertEquals(expected.getSource(), actual.getSource(), dataset);
+            assertEquals(expected.isDirected(), actual.isDirected(), dataset);
+            assertEquals(expected.getWeightModel(), actual.getWeightModel(), dataset);
+            assertEquals(expected.getEdgeCount(), actual.getEdgeCount(), dataset);
+            assertEquals(edgeKeys(expected), edgeKeys(actual), dataset);
+        }
+    }
+
+    @Test
+    public void testLargeDocumentParsedInChunks() {
+        Random random = new Random(8);
+        int n = 50_000;
+        StringBuilder json = new StringBuilder("{\n  \"edges\": [\n");
+        for (int i = 0; i < 120_000; i++) {
+            if (i > 0) json.append(",\n");
+            int u = random.nextInt(n), v = random.nextInt(n), w = 1 + random.nextInt(50);
+            if (i % 3 == 0) json.append("    {\"w\": ").append(w).append(", \"v\": ").append(v).append(", \"u\": ").append(u).append('}');
+            else json.append("    {\"u\": ").append(u).append(", \"v\": ").append(v).append(", \"w\": ").append(w).append('}');
+        }
+        json.append("\n  ],\n  \"n\": ").append(n).append(",\n  \"source\": 7,\n  \"directed\": true\n}\n");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(bytes.length > JSONParser.PARALLEL_MIN_BYTES);
+
+        FrozenGraph g = new JSONParser().parseGraph(bytes);
+        assertEquals(n, g.getN());
+        assertEquals(7, g.getSource());
+        assertEquals(120_000, g.getEdgeCount());
+        random = new Random(8);
+        for (int i = 0; i < g.getEdgeCount(); i++) {
+            assertEquals(random.nextInt(n), g.getEdgeSource(i));
+            assertEquals(random.nextInt(n), g.getEdgeDestination(i));
+            assertEquals(1 + random.nextInt(50), g.getEdgeWeight(i));
+        }
+    }
+
+    @Test
+    public void testDefaultsAndErrors() {
+        JSONParser parser = new JSONParser();
+        FrozenGraph g = parser.parseGraph("{\"edges\":[{\"u\":0,\"v\":3},{\"u\":3,\"v\":1,\"w\":4}]}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(4, g.getN());
+        assertEquals(1, g.getEdgeWeight(0));
+        assertEquals(0, parser.parseGraph("{\"n\": 3}".getBytes(StandardCharsets.UTF_8)).getEdgeCount());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parseGraph("{\"n\":2,\"edges\":[{\"u\":0,\"v\":5,\"w\":1}]}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parseGraph("{\"edges\":[{\"u\":0,\"w\":1}]}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.parseGraph("{\"edges\":[{\"u\":0,\"v\":x}]}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testExtraFieldsAndNestedValuesAreSkipped() {
+        String json = "{\"edges\": [\n"
+                + "  {\"u\": 0, \"label\": \"a}b{\\\"c\", \"v\": 1, \"w\": 2},\n"
+                + "  {\"meta\": {\"v\": 9, \"tags\": [{\"u\": 7}, \"]\"]}, \"u\": 1, \"v\": 2},\n"
+                + "  {\"u\": 2, \"v\": 0, \"w\": 5, \"cost\": 1.5e3, \"active\": true, \"note\": null}\n"
+                + "], \"n\": 3, \"extra\": [1, 2]}";
+        FrozenGraph g = new JSONParser().parseGraph(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(3, g.getN());
+        assertEquals(3, g.getEdgeCount());
+        assertEquals(List.of(0, 1, 2), List.of(g.getEdgeSource(0), g.getEdgeSource(1), g.getEdgeSource(2)));
+        assertEquals(List.of(1, 2, 0), List.of(g.getEdgeDestination(0), g.getEdgeDestination(1), g.getEdgeDestination(2)));
+        assertEquals(List.of(2, 1, 5), List.of(g.getEdgeWeight(0), g.getEdgeWeight(1), g.getEdgeWeight(2)));
+    }
+
+    @Test
+    public void testNestedObjectsInLargeDocumentAreNotCountedAsEdges() {
+        int m = 60_000;
+        StringBuilder json = new StringBuilder("{\"n\": 1000, \"edges\": [");
+        for (int i = 0; i < m; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"u\": ").append(i % 1000).append(", \"attrs\": {\"x\": {\"y\": [{}, {}]}, \"s\": \"}{\"}, ")
+                    .append("\"v\": ").append((i + 1) % 1000).append(", \"w\": ").append(i % 7).append('}');
+        }
+        json.append("]}");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(bytes.length > JSONParser.PARALLEL_MIN_BYTES);
+
+        FrozenGraph g = new JSONParser().parseGraph(bytes);
+        assertEquals(m, g.getEdgeCount());
+        for (int i = 0; i < m; i++) {
+            assertEquals(i % 1000, g.getEdgeSource(i));
+            assertEquals((i + 1) % 1000, g.getEdgeDestination(i));
+            assertEquals(i % 7, g.getEdgeWeight(i));
+        }
+    }
+
+    @Test
+    public void testCutInsideStringFallsBackToSequentialSplit() {
+        int m = 60_000;
+        StringBuilder json = new StringBuilder("{\"n\": 1000, \"edges\": [");
+        for (int i = 0; i < m; i++) {
+            if (i > 0) json.append(", ");
+            json.append("{\"u\": ").append(i % 1000).append(", \"v\": ").append((i + 3) % 1000)
+                    .append(", \"note\": \"}, {\", \"w\": 2}");
+        }
+        json.append("], \"tail\": [{\"u\": 5}, {\"u\": 6}]}");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(bytes.length > JSONParser.PARALLEL_MIN_BYTES);
+
+        FrozenGraph g = new JSONParser().parseGraph(bytes);
+        assertEquals(m, g.getEdgeCount());
+        for (int i = 0; i < m; i++) {
+            assertEquals(i % 1000, g.getEdgeSource(i));
+            assertEquals((i + 3) % 1000, g.getEdgeDestination(i));
+            assertEquals(2, g.getEdgeWeight(i));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelPathDPTest {
+    /** Layered DAG whose levels are wide enough to be swept in parallel. */
+    private static Graph wideDag(int layers, int width, long seed) {
+        Random random = new Random(seed);
+        Graph g = new Graph(layers * width, true, "integer");
+        for (int layer = 0; layer + 1 < layers; layer++) {
+            for (int i = 0; i < width; i++) {
+                int u = layer * width + i;
+                for (int k = 0; k < 3; k++) {
+                    int v = (layer + 1) * width + random.nextInt(width);
+                    g.addEdge(u, v, 1 + random.nextInt(4));
+                }
+            }
+        }
+        return g;
+    }
+
+    @Test
+    public void testCriticalPathMatchesSequential() {
+        Graph g = wideDag(8, 4000, 5);
+        CriticalPathResult sequential = new CriticalPathFinder().findCriticalPath(g, null);
+        CriticalPathResult parallel = new CriticalPathFinder(true).findCriticalPath(g, new Metrics());
+        assertEquals(sequential.getTotalWeight(), parallel.getTotalWeight());
+        assertEquals(sequential.getPath(), parallel.getPath());
+    }
+
+    @Test
+    public void testTiesResolvedLikeSequential() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(1, 3, 2);
+        g.addEdge(0, 3, 2);
+        g.addEdge(2, 3, 1);
+        CriticalPathResult sequential = new CriticalPathFinder().findCriticalPath(g, null);
+        CriticalPathResult parallel = new CriticalPathFinder(true).findCriticalPath(g, null);
+        assertEquals(sequential.getPath(), parallel.getPath());
+    }
+
+    @Test
+    public void testDistancesMatchSequential() {
+        Graph g = wideDag(6, 3000, 9);
+        DAGShortestPath sequential = new DAGShortestPath();
+        DAGShortestPath parallel = new DAGShortestPath(true);
+        for (int source : new int[]{0, 4500}) {
+            assertArrayEquals(sequential.findShortestPaths(g, source, null), parallel.findShortestPaths(g, source, null));
+            assertArrayEquals(sequential.findLongestPaths(g, source, null), parallel.findLongestPaths(g, source, null));
+        }
+    }
+
+    @Test
+    public void testCyclicInputFallsBackToSequential() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        g.addEdge(0, 3, 5);
+        assertEquals(new CriticalPathFinder().findCriticalPath(g, null).getTotalWeight(),
+                new CriticalPathFinder(true).findCriticalPath(g, null).getTotalWeight());
+        assertArrayEquals(new DAGShortestPath().findShortestPaths(g, 0, null),
+                new DAGShortestPath(true).findShortestPaths(g, 0, null));
+    }
+}
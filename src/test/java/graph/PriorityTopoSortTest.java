@@ -0,0 +1,83 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriorityTopoSortTest {
+    private Graph createForkDAG() {
+        Graph g = new Graph(6, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 3, 5);
+        g.addEdge(3, 4, 5);
+        g.addEdge(1, 5, 1);
+        return g;
+    }
+
+    @Test
+    public void testLexicographicOrder() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(3, 1, 1);
+        g.addEdge(2, 0, 1);
+        TopoResult result = new PriorityTopologicalSort().topologicalSort(g, null, new Metrics());
+        assertEquals(Arrays.asList(2, 0, 3, 1), result.getOrder());
+    }
+
+    @Test
+    public void testCriticalTasksFirst() {
+        Graph g = createForkDAG();
+        long[] priority = PriorityTopologicalSort.remainingCriticalPath(g);
+        assertEquals(11, priority[0]);
+        assertEquals(10, priority[2]);
+        assertEquals(1, priority[1]);
+        List<Integer> order = new PriorityTopologicalSort().topologicalSort(g, priority, null).getOrder();
+        assertEquals(Arrays.asList(0, 2, 3, 1, 4, 5), order);
+    }
+
+    @Test
+    public void testOrderIsTopologicalAndDeterministic() {
+        Random random = new Random(17);
+        Graph g = new Graph(200, true, "integer");
+        for (int i = 0; i < 600; i++) {
+            int u = random.nextInt(200), v = random.nextInt(200);
+            if (u < v) g.addEdge(u, v, 1 + random.nextInt(9));
+        }
+        long[] priority = new long[200];
+        for (int i = 0; i < 200; i++) priority[i] = random.nextInt(4);
+        PriorityTopologicalSort sorter = new PriorityTopologicalSort();
+        List<Integer> order = sorter.topologicalSort(g, priority, null).getOrder();
+        assertEquals(order, sorter.topologicalSort(g, priority, null).getOrder());
+        int[] pos = new int[200];
+        for (int i = 0; i < order.size(); i++) pos[order.get(i)] = i;
+        for (Edge e : g.getEdges()) assertTrue(pos[e.getSource()] < pos[e.getDestination()]);
+    }
+
+    @Test
+    public void testCycleDetected() {
+        Graph g = new Graph(3, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 1, 1);
+        assertTrue(new PriorityTopologicalSort().topologicalSort(g, null, null).hasCycle());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PriorityTopologicalSort().topologicalSort(g, new long[2], null));
+    }
+
+    @Test
+    public void testHeapOrderingAndUpdates() {
+        IndexedIntHeap heap = new IndexedIntHeap(5);
+        heap.insertOrUpdate(3, 10);
+        heap.insertOrUpdate(1, 10);
+        heap.insertOrUpdate(4, 2);
+        heap.insertOrUpdate(0, 7);
+        heap.insertOrUpdate(4, 12);
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(4, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+}
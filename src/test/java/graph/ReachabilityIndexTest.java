@@ -0,0 +1,94 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static graph.TestGraphs.randomDag;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReachabilityIndexTest {
+    private boolean bfs(CsrAdjacency adj, int from, int to) {
+        boolean[] seen = new boolean[adj.getN()];
+        int[] queue = new int[adj.getN()];
+        int head = 0, tail = 0;
+        queue[tail++] = from;
+        seen[from] = true;
+        while (head < tail) {
+            int u = queue[head++];
+            if (u == to) return true;
+            for (int i = adj.start(u); i < adj.end(u); i++) {
+                int w = adj.target(i);
+                if (!seen[w]) {
+                    seen[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = i;
+        return ids;
+    }
+
+    @Test
+    public void testOriginalVerticesThroughComponents() {
+        Graph g = new Graph(6, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 2, 1);
+        g.addEdge(4, 5, 1);
+        TarjanSCC tarjan = new TarjanSCC();
+        SCCResult scc = tarjan.findSCCs(g, null);
+        Graph dag = tarjan.buildCondensationGraph(g, scc.getComponents(), null);
+        ReachabilityIndex index = ReachabilityIndex.build(dag, scc.getComponentOf());
+        assertTrue(index.usesFullClosure());
+        assertTrue(index.canReach(0, 3));
+        assertTrue(index.canReach(1, 0));
+        assertTrue(index.canReach(3, 2));
+        assertFalse(index.canReach(3, 0));
+        assertFalse(index.canReach(0, 5));
+        assertTrue(index.canReach(4, 5));
+    }
+
+    @Test
+    public void testClosureMatchesTraversal() {
+        FrozenGraph dag = randomDag(300, 600, 11);
+        CsrAdjacency adj = CsrAdjacency.of(dag);
+        ReachabilityIndex index = ReachabilityIndex.build(dag, identity(300));
+        for (int u = 0; u < 300; u += 7) {
+            for (int v = 0; v < 300; v += 3) {
+                assertEquals(bfs(adj, u, v), index.canReach(u, v), u + " -> " + v);
+            }
+        }
+    }
+
+    @Test
+    public void testIntervalLabelsMatchTraversal() {
+        int n = ReachabilityIndex.CLOSURE_MAX_VERTICES * 2;
+        FrozenGraph dag = randomDag(n, n * 2, 5);
+        CsrAdjacency adj = CsrAdjacency.of(dag);
+        ReachabilityIndex index = ReachabilityIndex.build(dag, identity(n));
+        assertFalse(index.usesFullClosure());
+        Random random = new Random(9);
+        for (int q = 0; q < 300; q++) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            assertEquals(bfs(adj, u, v), index.canReach(u, v), u + " -> " + v);
+        }
+        for (int u = 0; u < 50; u++) {
+            for (int i = adj.start(u); i < adj.end(u); i++) assertTrue(index.canReach(u, adj.target(i)));
+        }
+        assertTrue(index.getMemoryBytes() > 0);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        FrozenGraph dag = randomDag(5, 5, 1);
+        assertThrows(IllegalArgumentException.class, () -> ReachabilityIndex.build(dag, new int[]{0, 9}));
+        ReachabilityIndex index = ReachabilityIndex.build(dag, identity(5));
+        assertThrows(IllegalArgumentException.class, () -> index.canReach(0, 5));
+    }
+}
@@ -0,0 +1,133 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static graph.TestGraphs.assertSamePartition;
+import static graph.TestGraphs.randomFrozenGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SCCFinderImplementationsTest {
+    private final SCCFinder[] finders = {
+        new TarjanSCC(), new KosarajuSCC(), new GabowSCC(), new ParallelSCC()
+    };
+
+    @Test
+    public void testImplementationsAgreeOnSmallGraphs() {
+        for (long seed = 0; seed < 20; seed++) {
+            FrozenGraph g = randomFrozenGraph(60, 90, seed);
+            int[] expected = finders[0].findSCCs(g, new Metrics()).getComponentOf();
+            for (SCCFinder finder : finders) {
+                assertSamePartition(expected, finder.findSCCs(g, new Metrics()).getComponentOf());
+            }
+        }
+    }
+
+    @Test
+    public void testImplementationsAgreeOnLargeGraph() {
+        FrozenGraph g = randomFrozenGraph(30_000, 36_000, 42);
+        SCCResult expected = finders[0].findSCCs(g, new Metrics());
+        for (SCCFinder finder : finders) {
+            SCCResult result = finder.findSCCs(g, new Metrics());
+            assertEquals(expected.getComponents().size(), result.getComponentCount(),
+                    finder.getClass().getSimpleName());
+            assertSamePartition(expected.getComponentOf(), result.getComponentOf());
+        }
+    }
+
+    @Test
+    public void testParallelResultIsDeterministic() {
+        FrozenGraph g = randomFrozenGraph(20_000, 26_000, 7);
+        int[] first = new ParallelSCC().findSCCs(g, null).getComponentOf();
+        int[] second = new ParallelSCC().findSCCs(g, null).getComponentOf();
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        Graph g = new Graph(0, true, "integer");
+        for (SCCFinder finder : finders) {
+            assertEquals(0, finder.findSCCs(g, new Metrics()).getComponents().size());
+        }
+    }
+
+    @Test
+    public void testAdaptiveSelection() {
+        assertTrue(new AdaptiveSCCFinder(8).select(randomFrozenGraph(100, 200, 1)) instanceof TarjanSCC);
+
+        int n = AdaptiveSCCFinder.PARALLEL_MIN_VERTICES;
+        GraphBuilder chain = new GraphBuilder(n, true, "integer").expectedEdges(n - 1);
+        for (int i = 0; i + 1 < n; i++) chain.addEdge(i, i + 1, 1);
+        FrozenGraph dag = chain.freeze();
+        assertTrue(new AdaptiveSCCFinder(8).select(dag) instanceof ParallelSCC);
+        assertTrue(new AdaptiveSCCFinder(1).select(dag) instanceof TarjanSCC);
+
+        GraphBuilder ring = new GraphBuilder(n, true, "integer").expectedEdges(n);
+        for (int i = 0; i < n; i++) ring.addEdge(i, (i + 1) % n, 1);
+        assertTrue(new AdaptiveSCCFinder(8).select(ring.freeze()) instanceof KosarajuSCC);
+    }
+
+    @Test
+    public void testAdaptiveReusesItsAdjacencyAndTrimming() {
+        FrozenGraph sparse = randomFrozenGraph(AdaptiveSCCFinder.PARALLEL_MIN_VERTICES, 90_000, 11);
+        FrozenGraph giant = randomFrozenGraph(AdaptiveSCCFinder.PARALLEL_MIN_VERTICES, 400_000, 12);
+        for (FrozenGraph g : new FrozenGraph[]{sparse, giant}) {
+            int[] expected = new TarjanSCC().findSCCs(g, null).getComponentOf();
+            for (int cores : new int[]{2, 8}) {
+                assertSamePartition(expected, new AdaptiveSCCFinder(cores).findSCCs(g, null).getComponentOf());
+            }
+        }
+        assertTrue(new AdaptiveSCCFinder(8).select(sparse) instanceof ParallelSCC);
+    }
+
+    @Test
+    public void testSharedInstancesAreThreadSafe() throws Exception {
+        FrozenGraph[] graphs = new FrozenGraph[8];
+        int[][] expected = new int[graphs.length][];
+        for (int i = 0; i < graphs.length; i++) {
+            graphs[i] = randomFrozenGraph(2_000 + 500 * i, 3_000 + 600 * i, 100 + i);
+            expected[i] = new TarjanSCC().findSCCs(graphs[i], null).getComponentOf();
+        }
+        CompressedGraph compressed = CompressedGraph.of(graphs[3]);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            for (SCCFinder finder : finders) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int task = 0; task < 48; task++) {
+                    int i = task % graphs.length;
+                    futures.add(executor.submit(() -> {
+                        assertSamePartition(expected[i], finder.findSCCs(graphs[i], null).getComponentOf());
+                        if (finder instanceof TarjanSCC) {
+                            assertSamePartition(expected[3], ((TarjanSCC) finder).findSCCs(compressed, null).getComponentOf());
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(SearchWorkspace.pooled() > 0);
+        assertTrue(SearchWorkspace.pooled() <= SearchWorkspace.MAX_POOLED);
+    }
+
+    @Test
+    public void testOversizedWorkspaceIsNotRetained() {
+        int idle;
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(SearchWorkspace.MAX_RETAINED_VERTICES + 1)) {
+            assertTrue(workspace.ints(0).length > SearchWorkspace.MAX_RETAINED_VERTICES);
+            idle = SearchWorkspace.pooled();
+        }
+        assertEquals(idle, SearchWorkspace.pooled());
+
+        try (SearchWorkspace workspace = SearchWorkspace.acquire(100)) {
+            assertTrue(workspace.ints(0).length <= SearchWorkspace.MAX_RETAINED_VERTICES);
+            idle = SearchWorkspace.pooled();
+        }
+        assertEquals(idle + 1, SearchWorkspace.pooled());
+    }
+}
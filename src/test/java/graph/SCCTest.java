@@ -106,4 +106,31 @@ public class SCCTest {
         SCCResult result = finder.findSCCs(g, new Metrics());
         assertEquals(3, result.getComponents().size());
     }
+
+    @Test
+    public void testSCCLongCycleDoesNotOverflow() {
+        int n = 200_000;
+        GraphBuilder builder = new GraphBuilder(n, true, "integer").expectedEdges(n);
+        for (int i = 0; i < n; i++) builder.addEdge(i, (i + 1) % n, 1);
+        SCCResult result = new TarjanSCC().findSCCs(builder.freeze(), new Metrics());
+        assertEquals(1, result.getComponents().size());
+        assertEquals(n, result.getComponents().get(0).size());
+    }
+
+    @Test
+    public void testSCCHighOutDegreeHub() {
+        int dependents = 100_000;
+        GraphBuilder builder = new GraphBuilder(dependents + 1, true, "integer").expectedEdges(2 * dependents);
+        for (int i = 1; i <= dependents; i++) {
+            builder.addEdge(0, i, 1);
+            if (i % 2 == 0) builder.addEdge(i, 0, 1);
+        }
+        Metrics m = new Metrics();
+        SCCResult result = new TarjanSCC().findSCCs(builder.freeze(), m);
+        assertEquals(dependents / 2 + 1, result.getComponents().size());
+        int[] compOf = result.getComponentOf();
+        assertEquals(compOf[0], compOf[2]);
+        assertNotEquals(compOf[0], compOf[1]);
+        assertEquals(dependents + 1, m.getCounter(Metrics.DFS_VISITS));
+    }
 }
@@ -0,0 +1,100 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalingBenchmarkTest {
+    @Test
+    public void testFitExponent() {
+        long[] x = {1_000, 10_000, 100_000};
+        assertEquals(1.0, ScalingBenchmark.fitExponent(x, new long[]{5, 50, 500}), 1e-9);
+        assertEquals(2.0, ScalingBenchmark.fitExponent(x, new long[]{3, 300, 30_000}), 1e-9);
+        assertTrue(Double.isNaN(ScalingBenchmark.fitExponent(x, new long[]{0, 0, 7})));
+    }
+
+    @Test
+    public void testGeneratedGraphIsDeterministic() {
+        DatasetGenerator generator = new DatasetGenerator();
+        FrozenGraph a = generator.generateScalingGraph(2_000, 4, 7);
+        FrozenGraph b = generator.generateScalingGraph(2_000, 4, 7);
+        assertEquals(a.getEdgeCount(), b.getEdgeCount());
+        for (int i = 0; i < a.getEdgeCount(); i++) {
+            assertEquals(a.getEdgeDestination(i), b.getEdgeDestination(i));
+        }
+        assertTrue(new TarjanSCC().findSCCs(a, null).getComponents().size() < a.getN());
+    }
+
+    @Test
+    public void testBaselineRoundTripAndRegression() {
+        List<ScalingBenchmark.Sample> samples = new ScalingBenchmark().run(1_000, 10_000, 60);
+        assertEquals(ScalingBenchmark.SIZES_PER_DECADE + 1, samples.size());
+        assertEquals(1_000, samples.get(0).getVertices());
+        Properties baseline = ScalingBenchmark.toBaseline(samples);
+        assertEquals("10000", baseline.getProperty("maxVertices"));
+        assertTrue(ScalingBenchmark.compare(samples, baseline, 1.01).isEmpty());
+
+        baseline.setProperty("nanosPerElement.SCC", "0.000001");
+        List<String> regressions = ScalingBenchmark.compare(samples, baseline, 1.5);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("nanosPerElement.SCC"));
+    }
+
+    @Test
+    public void testMedianAndBaselineExcludeGcPauses() {
+        List<ScalingBenchmark.Sample> runs = new ArrayList<>();
+        long[][] wallAndGcMillis = {{30, 0}, {40, 35}, {20, 0}};
+        for (long[] run : wallAndGcMillis) {
+            StageStats stats = new StageStats("SCC");
+            stats.add(run[0] * 1_000_000, 0, 1, run[1], 0, false);
+            Map<String, StageStats> stages = new LinkedHashMap<>();
+            stages.put("SCC", stats);
+            runs.add(new ScalingBenchmark.Sample(1_000, 1_000, stages));
+        }
+        ScalingBenchmark.Sample median = ScalingBenchmark.median(runs);
+        assertEquals(20_000_000, median.getStages().get("SCC").getWallNanos());
+
+        List<ScalingBenchmark.Sample> samples = new ArrayList<>();
+        samples.add(runs.get(1));
+        Properties baseline = ScalingBenchmark.toBaseline(samples);
+        assertEquals("5000.000", baseline.getProperty("nanosPerElement.SCC"));
+        assertTrue(ScalingBenchmark.compare(samples, baseline, 1.01).isEmpty());
+    }
+
+    private static ScalingBenchmark.Sample sample(int n, long... stageNanos) {
+        Map<String, StageStats> stages = new LinkedHashMap<>();
+        String[] names = {"LINEAR", "QUADRATIC"};
+        for (int i = 0; i < stageNanos.length; i++) {
+            StageStats stats = new StageStats(names[i]);
+            stats.add(stageNanos[i], 0, 0, 0, 0, false);
+            stages.put(names[i], stats);
+        }
+        return new ScalingBenchmark.Sample(n, 5L * n, stages);
+    }
+
+    @Test
+    public void testCeilingRejectsSuperlinearStageWithoutBaseline() {
+        List<ScalingBenchmark.Sample> samples = new ArrayList<>();
+        samples.add(sample(1_000, 100_000, 100_000));
+        for (int step = 0; step <= ScalingBenchmark.SIZES_PER_DECADE; step++) {
+            int n = (int) Math.round(100_000 * Math.pow(10, (double) step / ScalingBenchmark.SIZES_PER_DECADE));
+            samples.add(sample(n, 100L * n, (long) n * n / 10));
+        }
+        List<String> violations = ScalingBenchmark.checkCeiling(samples);
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).startsWith("QUADRATIC"));
+
+        assertTrue(ScalingBenchmark.checkCeiling(samples.subList(0, ScalingBenchmark.MIN_FIT_POINTS)).isEmpty());
+    }
+
+    @Test
+    public void testMedianIgnoresOutlierRuns() {
+        List<ScalingBenchmark.Sample> runs = List.of(sample(1_000, 9_000_000), sample(1_000, 5_000_000),
+                sample(1_000, 900_000_000), sample(1_000, 1_000_000), sample(1_000, 6_000_000));
+        assertEquals(6_000_000, ScalingBenchmark.median(runs).getStages().get("LINEAR").getWallNanos());
+    }
+}
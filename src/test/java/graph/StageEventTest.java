@@ -0,0 +1,64 @@
+package graph;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageEventTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRecordingCapturesEveryStage() throws Exception {
+        String json = "{\"n\": 6, \"source\": 0, \"directed\": true, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 2}, {\"u\": 1, \"v\": 0, \"w\": 1}, {\"u\": 1, \"v\": 2, \"w\": 4},"
+                + "{\"u\": 2, \"v\": 3, \"w\": 1}, {\"u\": 3, \"v\": 4, \"w\": 3}, {\"u\": 4, \"v\": 5, \"w\": 2}]}";
+        Path file = tempDir.resolve("stages.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(StageEvent.NAME).withoutThreshold();
+            recording.start();
+            FrozenGraph g = new JSONParser().parseGraph(json.getBytes(StandardCharsets.UTF_8));
+            GraphAnalysis analysis = new GraphAnalysis(g, null, VertexReordering.Strategy.RCM);
+            analysis.getCriticalPath();
+            analysis.getTopologicalOrder();
+            analysis.getShortestPaths();
+            analysis.getLongestPaths();
+            analysis.getReachability();
+            analysis.getReducedCondensation();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, RecordedEvent> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals(StageEvent.NAME)) events.put(event.getString("stage"), event);
+        }
+        assertTrue(events.containsKey(StageEvent.PARSE));
+        for (GraphAnalysis.Stage stage : GraphAnalysis.Stage.values()) {
+            if (stage != GraphAnalysis.Stage.TOPOLOGICAL_ORDER) assertTrue(events.containsKey(stage.name()), stage.name());
+        }
+        RecordedEvent parse = events.get(StageEvent.PARSE);
+        assertEquals(6, parse.getInt("vertices"));
+        assertEquals(6L, parse.getLong("edges"));
+        assertEquals(json.length(), parse.getLong("resultSize"));
+        RecordedEvent scc = events.get(GraphAnalysis.Stage.SCC.name());
+        assertEquals(5, scc.getInt("components"));
+        assertEquals(6, scc.getInt("vertices"));
+        assertEquals(4L, events.get(GraphAnalysis.Stage.CONDENSATION.name()).getLong("resultSize"));
+        assertEquals(-1, events.get(GraphAnalysis.Stage.LEVELS.name()).getInt("components"));
+    }
+
+    @Test
+    public void testDisabledEventLeavesFieldsEmpty() {
+        StageEvent event = StageEvent.begin(GraphAnalysis.Stage.SCC.name(), new Graph(3, true, "integer"));
+        if (!event.isEnabled()) assertNull(event.stage);
+        event.end(1, 1);
+    }
+}
@@ -0,0 +1,134 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageMetricsTest {
+    private static volatile Object sink;
+
+    @Test
+    public void testStageRecordsAllocationAndTime() {
+        Metrics metrics = new Metrics();
+        Metrics.Stage stage = metrics.beginStage("alloc");
+        try {
+            for (int i = 0; i < 64; i++) sink = new byte[64 * 1024];
+        } finally {
+            stage.close();
+        }
+        StageStats stats = metrics.getStages().get("alloc");
+        assertNotNull(stats);
+        assertEquals(1, stats.getRuns());
+        assertTrue(stats.getWallNanos() > 0);
+        if (stats.getAllocatedBytes() >= 0) {
+            assertTrue(stats.getAllocatedBytes() >= 64L * 64 * 1024);
+        }
+        assertTrue(stats.getPeakHeapBytes() > 0);
+        assertTrue(stats.getGcCount() >= 0);
+    }
+
+    @Test
+    public void testRepeatedStageAccumulates() {
+        Metrics metrics = new Metrics();
+        for (int i = 0; i < 3; i++) {
+            metrics.beginStage("repeat").close();
+        }
+        assertEquals(3, metrics.getStages().get("repeat").getRuns());
+        metrics.reset();
+        assertTrue(metrics.getStages().isEmpty());
+    }
+
+    @Test
+    public void testNestedAndConcurrentStagesDoNotInterfere() throws Exception {
+        Metrics metrics = new Metrics();
+        byte[] retained;
+        Metrics.Stage outer = metrics.beginStage("outer");
+        try {
+            Metrics.Stage inner = metrics.beginStage("inner");
+            try {
+                retained = new byte[8 << 20];
+            } finally {
+                inner.close();
+            }
+            Thread other = new Thread(() -> {
+                Metrics.Stage busy = metrics.beginStage("other");
+                try {
+                    for (int i = 0; i < 256; i++) sink = new byte[256 * 1024];
+                } finally {
+                    busy.close();
+                }
+            });
+            other.start();
+            other.join();
+        } finally {
+            outer.close();
+        }
+        Map<String, StageStats> stages = metrics.getStages();
+        assertTrue(stages.get("outer").isAllocationCallerThreadOnly());
+        assertTrue(stages.get("other").isAllocationCallerThreadOnly());
+        assertTrue(stages.get("outer").toString().contains("caller thread only"));
+        assertTrue(stages.get("outer").getPeakHeapBytes() >= retained.length);
+        assertTrue(stages.get("inner").getPeakHeapBytes() >= retained.length);
+        long outerAllocated = stages.get("outer").getAllocatedBytes();
+        long otherAllocated = stages.get("other").getAllocatedBytes();
+        if (outerAllocated >= 0) {
+            assertTrue(otherAllocated >= 256L * 256 * 1024);
+            assertTrue(outerAllocated < retained.length + otherAllocated / 2);
+        }
+    }
+
+    @Test
+    public void testStageCountsPoolWorkerAllocation() {
+        Metrics metrics = new Metrics();
+        Metrics.Stage stage = metrics.beginStage("parallel");
+        try {
+            IntStream.range(0, 256).parallel().forEach(i -> sink = new byte[64 * 1024]);
+        } finally {
+            stage.close();
+        }
+        StageStats stats = metrics.getStages().get("parallel");
+        assertFalse(stats.isAllocationCallerThreadOnly());
+        if (stats.getAllocatedBytes() >= 0) {
+            assertTrue(stats.getAllocatedBytes() >= 256L * 64 * 1024);
+        }
+    }
+
+    @Test
+    public void testCountersSurviveConcurrentUpdates() throws Exception {
+        Metrics metrics = new Metrics();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    metrics.incrementCounter(Metrics.DFS_VISITS);
+                    metrics.addCounter(Metrics.EDGE_RELAXATIONS, 2);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(40000, metrics.getCounter(Metrics.DFS_VISITS));
+        assertEquals(80000, metrics.getCounter(Metrics.EDGE_RELAXATIONS));
+        assertEquals(40000, metrics.getOperationCount());
+    }
+
+    @Test
+    public void testAnalysisRecordsOnlyRequestedStages() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        g.addEdge(1, 2, 2);
+        g.addEdge(2, 3, 3);
+        Metrics metrics = new Metrics();
+        GraphAnalysis analysis = new GraphAnalysis(g, metrics);
+        analysis.getCriticalPath();
+
+        Map<String, StageStats> stages = metrics.getStages();
+        assertTrue(stages.containsKey(GraphAnalysis.Stage.SCC.name()));
+        assertTrue(stages.containsKey(GraphAnalysis.Stage.CONDENSATION.name()));
+        assertFalse(stages.containsKey(GraphAnalysis.Stage.REDUCED_CONDENSATION.name()));
+        assertTrue(stages.containsKey(GraphAnalysis.Stage.CRITICAL_PATH.name()));
+        assertFalse(stages.containsKey(GraphAnalysis.Stage.REACHABILITY.name()));
+    }
+}
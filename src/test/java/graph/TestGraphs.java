@@ -0,0 +1,80 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeded random graphs and partition assertions shared by the tests.
+ */
+final class TestGraphs {
+    private TestGraphs() {
+    }
+
+    /**
+     * @return directed multigraph with uniform random endpoints and weights in [1, 9]
+     */
+    static Graph randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Graph g = new Graph(n, true, "integer");
+        for (int i = 0; i < m; i++) g.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+        return g;
+    }
+
+    /**
+     * @return the edges of {@link #randomGraph(int, int, long)} in a {@link FrozenGraph}
+     */
+    static FrozenGraph randomFrozenGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        GraphBuilder builder = new GraphBuilder(n, true, "integer").expectedEdges(m);
+        for (int i = 0; i < m; i++) builder.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(9));
+        return builder.freeze();
+    }
+
+    /**
+     * @return DAG whose edges lead from a random vertex to one of the next 50, weights in [1, 9]
+     */
+    static FrozenGraph randomDag(int n, int m, long seed) {
+        Random random = new Random(seed);
+        GraphBuilder builder = new GraphBuilder(n, true, "integer").expectedEdges(m);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n - 1);
+            builder.addEdge(u, u + 1 + random.nextInt(Math.min(50, n - u - 1)), 1 + random.nextInt(9));
+        }
+        return builder.freeze();
+    }
+
+    /**
+     * @return undirected multigraph with uniform random endpoints and unit weights
+     */
+    static FrozenGraph randomUndirectedGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        GraphBuilder builder = new GraphBuilder(n, false, "integer").expectedEdges(m);
+        for (int i = 0; i < m; i++) builder.addEdge(random.nextInt(n), random.nextInt(n), 1);
+        return builder.freeze();
+    }
+
+    /**
+     * Asserts that two component mappings group the vertices identically, whatever
+     * ids they use for the components.
+     */
+    static void assertSamePartition(int[] expected, int[] actual) {
+        assertEquals(expected.length, actual.length);
+        int[] forward = new int[expected.length];
+        int[] backward = new int[expected.length];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        for (int v = 0; v < expected.length; v++) {
+            int e = expected[v], a = actual[v];
+            if (forward[e] == -1) forward[e] = a;
+            if (backward[a] == -1) backward[a] = e;
+            assertEquals(forward[e], a, "vertex " + v);
+            assertEquals(backward[a], e, "vertex " + v);
+        }
+    }
+
+    static void assertSamePartition(SCCResult expected, SCCResult actual) {
+        assertEquals(expected.getComponentCount(), actual.getComponentCount());
+        assertSamePartition(expected.getComponentOf(), actual.getComponentOf());
+    }
+}
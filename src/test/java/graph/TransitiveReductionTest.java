@@ -0,0 +1,71 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransitiveReductionTest {
+    private boolean[][] closure(GraphStore g) {
+        int n = g.getN();
+        boolean[][] reach = new boolean[n][n];
+        for (int i = 0; i < g.getEdgeCount(); i++) reach[g.getEdgeSource(i)][g.getEdgeDestination(i)] = true;
+        for (int k = 0; k < n; k++)
+            for (int i = 0; i < n; i++)
+                if (reach[i][k])
+                    for (int j = 0; j < n; j++)
+                        if (reach[k][j]) reach[i][j] = true;
+        return reach;
+    }
+
+    @Test
+    public void testRemovesImpliedEdges() {
+        Graph g = new Graph(4, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(0, 2, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(0, 3, 1);
+        Metrics m = new Metrics();
+        FrozenGraph reduced = new TransitiveReduction().reduce(g, m);
+        assertEquals(3, reduced.getEdgeCount());
+        assertEquals(2, m.getCounter(TransitiveReduction.REMOVED_EDGES));
+    }
+
+    @Test
+    public void testPreservesReachabilityAndCriticalPath() {
+        Random random = new Random(3);
+        for (int round = 0; round < 10; round++) {
+            int n = 40;
+            Graph g = new Graph(n, true, "integer");
+            for (int i = 0; i < 200; i++) {
+                int u = random.nextInt(n), v = random.nextInt(n);
+                if (u < v) g.addEdge(u, v, 1);
+            }
+            FrozenGraph reduced = new TransitiveReduction(256).reduce(g, null);
+            assertTrue(reduced.getEdgeCount() <= g.getEdgeCount());
+            boolean[][] before = closure(g);
+            boolean[][] after = closure(reduced);
+            for (int i = 0; i < n; i++) assertArrayEquals(before[i], after[i]);
+
+            CriticalPathFinder finder = new CriticalPathFinder();
+            assertEquals(finder.findCriticalPath(g, null).getTotalWeight(),
+                    finder.findCriticalPath(reduced, null).getTotalWeight());
+        }
+    }
+
+    @Test
+    public void testDuplicateEdgesCollapse() {
+        Graph g = new Graph(2, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(0, 1, 1);
+        assertEquals(1, new TransitiveReduction().reduce(g, null).getEdgeCount());
+    }
+
+    @Test
+    public void testRejectsCycles() {
+        Graph g = new Graph(2, true, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 0, 1);
+        assertThrows(IllegalArgumentException.class, () -> new TransitiveReduction().reduce(g, null));
+    }
+}
@@ -0,0 +1,68 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import static graph.TestGraphs.assertSamePartition;
+import static graph.TestGraphs.randomUndirectedGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UndirectedComponentsTest {
+    @Test
+    public void testMatchesTarjanOnEveryStore() {
+        Random random = new Random(5);
+        int n = 2_000;
+        Graph g = new Graph(n, false, "integer");
+        for (int i = 0; i < 1_500; i++) g.addEdge(random.nextInt(n), random.nextInt(n), 1);
+        g.addEdge(7, 7, 1);
+        UndirectedComponents finder = new UndirectedComponents();
+        SCCResult expected = new TarjanSCC().findSCCs(g, null);
+        assertSamePartition(expected, finder.findSCCs(g, null));
+
+        FrozenGraph frozen = randomUndirectedGraph(n, 1_500, 6);
+        assertSamePartition(new TarjanSCC().findSCCs(frozen, null), finder.findSCCs(frozen, null));
+    }
+
+    @Test
+    public void testParallelRunIsDeterministic() {
+        int n = 200_000;
+        FrozenGraph g = randomUndirectedGraph(n, 180_000, 7);
+        Metrics metrics = new Metrics();
+        SCCResult result = new UndirectedComponents().findSCCs(g, metrics);
+        assertSamePartition(new TarjanSCC().findSCCs(g, null), result);
+        assertEquals(n - result.getComponentCount(), metrics.getCounter("uf_unions"));
+        int[] compOf = result.getComponentOf();
+        List<List<Integer>> components = result.getComponents();
+        for (int c = 0; c < components.size(); c++) {
+            assertEquals(c, compOf[components.get(c).get(0)]);
+        }
+        assertArrayEquals(compOf, new UndirectedComponents().findSCCs(g, null).getComponentOf());
+    }
+
+    @Test
+    public void testConcurrentUnionsBuildMinimumRoots() {
+        int n = 100_000;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        IntStream.range(1, n).parallel().forEach(v -> sets.union(v, v % 2 == 0 ? v - 2 : Math.max(1, v - 2)));
+        assertEquals(n, sets.size());
+        for (int v = 0; v < n; v++) assertEquals(v % 2, sets.find(v));
+        assertTrue(sets.connected(2, n - 2));
+        assertFalse(sets.connected(0, 1));
+        assertFalse(sets.union(4, 8));
+    }
+
+    @Test
+    public void testAdaptiveSelectsUnionFindForUndirectedGraphs() {
+        AdaptiveSCCFinder adaptive = new AdaptiveSCCFinder();
+        assertTrue(adaptive.select(new Graph(3, false, "integer")) instanceof UndirectedComponents);
+        assertFalse(adaptive.select(new Graph(3, true, "integer")) instanceof UndirectedComponents);
+        assertThrows(IllegalArgumentException.class,
+                () -> new UndirectedComponents().findSCCs(new Graph(3, true, "integer"), null));
+
+        CancellationToken token = CancellationToken.cancellable();
+        token.cancel();
+        assertThrows(AnalysisCancelledException.class,
+                () -> new UndirectedComponents().findSCCs(randomUndirectedGraph(10, 5, 8), null, token));
+    }
+}
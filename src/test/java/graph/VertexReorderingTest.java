@@ -0,0 +1,106 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static graph.TestGraphs.randomGraph;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexReorderingTest {
+    private static Set<Set<Integer>> componentSets(SCCResult result) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (List<Integer> c : result.getComponents()) sets.add(new HashSet<>(c));
+        return sets;
+    }
+
+    @Test
+    public void testPermutationIsBijective() {
+        Graph g = randomGraph(500, 1500, 2);
+        for (VertexReordering.Strategy strategy : VertexReordering.Strategy.values()) {
+            VertexReordering reordering = VertexReordering.compute(g, strategy);
+            boolean[] seen = new boolean[g.getN()];
+            for (int v = 0; v < g.getN(); v++) {
+                int relabeled = reordering.toNew(v);
+                assertFalse(seen[relabeled], strategy.toString());
+                seen[relabeled] = true;
+                assertEquals(v, reordering.toOriginal(relabeled));
+            }
+        }
+    }
+
+    @Test
+    public void testSccMappedBackMatchesOriginal() {
+        Graph g = randomGraph(1000, 1800, 4);
+        SCCResult expected = new TarjanSCC().findSCCs(g, null);
+        for (VertexReordering.Strategy strategy : VertexReordering.Strategy.values()) {
+            VertexReordering reordering = VertexReordering.compute(g, strategy);
+            SCCResult mapped = reordering.mapBack(new TarjanSCC().findSCCs(reordering.apply(g), null));
+            assertEquals(componentSets(expected), componentSets(mapped));
+            int[] componentOf = mapped.getComponentOf();
+            for (int c = 0; c < mapped.getComponents().size(); c++) {
+                for (int v : mapped.getComponents().get(c)) assertEquals(c, componentOf[v]);
+            }
+        }
+    }
+
+    @Test
+    public void testTopologicalRelabelingAndPathMapping() {
+        Graph g = new Graph(5, true, "integer");
+        g.addEdge(4, 2, 3);
+        g.addEdge(2, 0, 2);
+        g.addEdge(3, 0, 1);
+        g.addEdge(0, 1, 4);
+        g.setSource(4);
+        VertexReordering reordering = VertexReordering.compute(g, VertexReordering.Strategy.TOPOLOGICAL);
+        FrozenGraph relabeled = reordering.apply(g);
+        for (int i = 0; i < relabeled.getEdgeCount(); i++) {
+            assertTrue(relabeled.getEdgeSource(i) < relabeled.getEdgeDestination(i));
+        }
+
+        CriticalPathResult path = reordering.mapBack(new CriticalPathFinder().findCriticalPath(relabeled, null));
+        CriticalPathResult expected = new CriticalPathFinder().findCriticalPath(g, null);
+        assertEquals(expected.getTotalWeight(), path.getTotalWeight());
+        assertEquals(expected.getPath(), path.getPath());
+
+        int[] distances = reordering.mapBack(new DAGShortestPath().findShortestPaths(relabeled, relabeled.getSource(), null));
+        assertArrayEquals(new DAGShortestPath().findShortestPaths(g, 4, null), distances);
+    }
+
+    @Test
+    public void testAnalysisWithReorderingUsesInputIds() {
+        Graph g = randomGraph(800, 1500, 6);
+        GraphAnalysis plain = new GraphAnalysis(g, null);
+        GraphAnalysis reordered = new GraphAnalysis(g, new Metrics(), VertexReordering.Strategy.RCM);
+        assertEquals(componentSets(plain.getSCCs()), componentSets(reordered.getSCCs()));
+        assertTrue(reordered.isComputed(GraphAnalysis.Stage.REORDERING));
+        assertEquals(plain.getCondensation().getEdgeCount(), reordered.getCondensation().getEdgeCount());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(plain.getReachability().canReach(i, 799 - i), reordered.getReachability().canReach(i, 799 - i));
+        }
+    }
+
+    @Test
+    public void testUndirectedGraphKeepsEveryEdgeOnce() {
+        Graph g = new Graph(6, false, "integer");
+        g.addEdge(0, 1, 1);
+        g.addEdge(2, 3, 2);
+        g.addEdge(4, 5, 3);
+        g.addEdge(5, 5, 4);
+        for (VertexReordering.Strategy strategy : VertexReordering.Strategy.values()) {
+            VertexReordering reordering = VertexReordering.compute(g, strategy);
+            FrozenGraph relabeled = reordering.apply(g);
+            assertFalse(relabeled.isDirected());
+            assertEquals(g.getEdgeCount(), relabeled.getEdgeCount(), strategy.toString());
+            Set<List<Integer>> expected = new HashSet<>();
+            for (Edge e : g.getEdges()) expected.add(List.of(e.getSource(), e.getDestination(), e.getWeight()));
+            Set<List<Integer>> actual = new HashSet<>();
+            for (int i = 0; i < relabeled.getEdgeCount(); i++) {
+                actual.add(List.of(reordering.toOriginal(relabeled.getEdgeSource(i)),
+                        reordering.toOriginal(relabeled.getEdgeDestination(i)), relabeled.getEdgeWeight(i)));
+            }
+            assertEquals(expected, actual, strategy.toString());
+            assertEquals(3, new UndirectedComponents().findSCCs(relabeled, null).getComponents().size());
+        }
+    }
+}